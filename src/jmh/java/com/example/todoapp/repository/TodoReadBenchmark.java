@@ -0,0 +1,150 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.TodoApplication;
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.util.DeadlineClassifier;
+import com.example.todoapp.util.DeadlineStatus;
+import com.example.todoapp.util.TodoCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Read path of a 10k-todo account: managed entities copied into rows (the read path before TodoRow
+// projections) against JPQL constructor projections. SampleTime reports p99 per request, the gc profiler
+// configured in build.gradle the bytes allocated per request.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoReadBenchmark {
+
+    private static final int TODO_COUNT = 10_000;
+    private static final String ENTITY_PAGE =
+            "SELECT t FROM Todo t WHERE t.user.id = :userId AND (t.createdAt < :createdAt OR " +
+            "(t.createdAt = :createdAt AND t.id < :id)) ORDER BY t.createdAt DESC, t.id DESC";
+
+    @Param({"50", "200"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TodoRepository todoRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private Long userId;
+    private Long todoId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:todo-read-benchmark",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.todoapp=WARN",
+                        "app.reminders.enabled=false")
+                .run();
+        todoRepository = context.getBean(TodoRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class), context.getBean(TodoJdbcRepository.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TodoResponseDto> pageFromEntities() {
+        return readOnly.execute(status -> {
+            TodoCursor cursor = TodoCursor.startDescending();
+            List<Todo> todos = entityManager.createQuery(ENTITY_PAGE, Todo.class)
+                    .setParameter("userId", userId)
+                    .setParameter("createdAt", cursor.getDateKey())
+                    .setParameter("id", cursor.getId())
+                    .setMaxResults(pageSize + 1)
+                    .getResultList();
+            return convert(todos.stream().map(TodoRow::from).toList());
+        });
+    }
+
+    @Benchmark
+    public List<TodoResponseDto> pageFromRows() {
+        return readOnly.execute(status -> {
+            TodoCursor cursor = TodoCursor.startDescending();
+            return convert(todoRepository.findPageByUserIdOrderByCreatedAtDesc(
+                    userId, cursor.getDateKey(), cursor.getId(), PageRequest.of(0, pageSize + 1)));
+        });
+    }
+
+    @Benchmark
+    public List<TodoResponseDto> singleFromEntity() {
+        return readOnly.execute(status -> convert(List.of(
+                TodoRow.from(todoRepository.findByIdAndUserId(todoId, userId).orElseThrow()))));
+    }
+
+    @Benchmark
+    public List<TodoResponseDto> singleFromRow() {
+        return readOnly.execute(status -> convert(List.of(
+                todoRepository.findRowByIdAndUserId(todoId, userId).orElseThrow())));
+    }
+
+    // Same conversion as TodoServiceImpl, so both paths only differ in how the rows are read
+    private static List<TodoResponseDto> convert(List<TodoRow> rows) {
+        DeadlineClassifier.Snapshot snapshot = DeadlineClassifier.Snapshot.at(LocalDateTime.now());
+        List<TodoResponseDto> dtos = new ArrayList<>(rows.size());
+        for (TodoRow row : rows) {
+            DeadlineStatus status = snapshot.classify(row.getDeadline(), row.getCompleted());
+            dtos.add(new TodoResponseDto(row.getId(), row.getTitle(), row.getDescription(), row.getCompleted(),
+                    row.getDeadline(), row.hasDeadline(), status == DeadlineStatus.OVERDUE,
+                    status == DeadlineStatus.DUE_SOON, status.name(), row.getCreatedAt(), row.getUpdatedAt()));
+        }
+        return dtos;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate, TodoJdbcRepository todoJdbcRepository) {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, email_verified, enabled) " +
+                "VALUES ('benchmark', 'benchmark@example.com', 'not-a-real-hash', TRUE, TRUE)");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'benchmark'", Long.class);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<TodoRow> rows = new ArrayList<>(TODO_COUNT);
+        for (int i = 0; i < TODO_COUNT; i++) {
+            LocalDateTime createdAt = start.plusMinutes(i);
+            LocalDateTime deadline = i % 4 == 0 ? null : createdAt.plusDays(i % 60);
+            rows.add(new TodoRow(null, "Todo " + i, "Seeded description " + i, i % 3 == 0, deadline, createdAt, createdAt));
+        }
+        List<Long> ids = todoJdbcRepository.insertAll(userId, rows, 1L);
+        todoId = ids.get(ids.size() / 2);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.config.JwtConfig;
+import com.example.todoapp.entity.Role;
+import com.example.todoapp.entity.User;
+import com.example.todoapp.security.ParsedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Token verification work of one authenticated request. Before: the filter called extractUsername,
+// isTokenValid (extractUsername again) and isTokenExpired, and each call derived the key and built a parser
+// before verifying the HMAC. After: a single parseToken with the key and parser built at startup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtConfig jwtConfig;
+    private JwtServiceImpl jwtService;
+    private String token;
+
+    @Setup
+    public void createToken() {
+        jwtConfig = new JwtConfig();
+        jwtConfig.setSecret("Q3x1v8aGLDwhRATBkysOHCMBEBiO7ncG");
+        jwtService = new JwtServiceImpl(jwtConfig);
+        jwtService.init();
+
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark");
+        user.setRoles(Set.of(role));
+        token = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public void threeParsesWithFreshKeys(Blackhole blackhole) {
+        String username = extractAllClaims(token).getSubject();
+        boolean sameUser = extractAllClaims(token).getSubject().equals(username);
+        Date expiration = extractAllClaims(token).getExpiration();
+        blackhole.consume(sameUser && expiration.after(new Date()));
+    }
+
+    @Benchmark
+    public ParsedToken parseOnce() {
+        return jwtService.parseToken(token);
+    }
+
+    private Claims extractAllClaims(String jwt) {
+        SecretKey key = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes());
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+}
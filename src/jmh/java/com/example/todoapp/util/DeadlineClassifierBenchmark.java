@@ -0,0 +1,96 @@
+package com.example.todoapp.util;
+
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.repository.TodoRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Converting a 10k-todo list: the former per-todo status checks, each reading the clock (up to four
+// LocalDateTime.now() and two plusDays per todo), against one DeadlineClassifier snapshot per list
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeadlineClassifierBenchmark {
+
+    private static final int TODO_COUNT = 10_000;
+
+    private final DeadlineClassifier classifier = new DeadlineClassifier(Clock.systemDefaultZone());
+    private List<TodoRow> rows;
+
+    @Setup
+    public void seed() {
+        // A quarter without deadline; the rest spread from two days ago to two days ahead, a third completed
+        LocalDateTime now = LocalDateTime.now();
+        rows = new ArrayList<>(TODO_COUNT);
+        for (int i = 0; i < TODO_COUNT; i++) {
+            LocalDateTime deadline = i % 4 == 0 ? null : now.plusMinutes((i % 5760) - 2880);
+            rows.add(new TodoRow((long) i, "Todo " + i, null, i % 3 == 0, deadline, now, now));
+        }
+    }
+
+    @Benchmark
+    public List<TodoResponseDto> perTodoClockReads() {
+        List<TodoResponseDto> dtos = new ArrayList<>(rows.size());
+        for (TodoRow row : rows) {
+            dtos.add(new TodoResponseDto(row.getId(), row.getTitle(), row.getDescription(), row.getCompleted(),
+                    row.getDeadline(), row.hasDeadline(), isOverdue(row), isDueSoon(row), determineDeadlineStatus(row),
+                    row.getCreatedAt(), row.getUpdatedAt()));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<TodoResponseDto> oneSnapshot() {
+        DeadlineClassifier.Snapshot snapshot = classifier.snapshot();
+        List<TodoResponseDto> dtos = new ArrayList<>(rows.size());
+        for (TodoRow row : rows) {
+            DeadlineStatus status = snapshot.classify(row.getDeadline(), row.getCompleted());
+            dtos.add(new TodoResponseDto(row.getId(), row.getTitle(), row.getDescription(), row.getCompleted(),
+                    row.getDeadline(), row.hasDeadline(), status == DeadlineStatus.OVERDUE,
+                    status == DeadlineStatus.DUE_SOON, status.name(), row.getCreatedAt(), row.getUpdatedAt()));
+        }
+        return dtos;
+    }
+
+    // The checks convertToDto and Todo used before the classifier, kept here as the baseline
+    private static String determineDeadlineStatus(TodoRow todo) {
+        if (!todo.hasDeadline()) {
+            return "NO_DEADLINE";
+        }
+        if (isOverdue(todo)) {
+            return "OVERDUE";
+        }
+        if (isDueSoon(todo)) {
+            return "DUE_SOON";
+        }
+        return "ON_TIME";
+    }
+
+    private static boolean isOverdue(TodoRow todo) {
+        return todo.hasDeadline() && !todo.getCompleted() && LocalDateTime.now().isAfter(todo.getDeadline());
+    }
+
+    private static boolean isDueSoon(TodoRow todo) {
+        if (!todo.hasDeadline() || todo.getCompleted()) return false;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dueSoonThreshold = now.plusDays(1);
+        return todo.getDeadline().isBefore(dueSoonThreshold) && todo.getDeadline().isAfter(now);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.todoapp.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    // Injected wherever deadline-relative logic reads the time, so it can be fixed in tests
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.todoapp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+
+// Database product behind the DataSource, read once from the JDBC metadata. Dialect-specific SQL switches on
+// this rather than on profiles, since deployments configure the datasource without activating any profile.
+@Component
+@Slf4j
+public class DatabasePlatform {
+
+    private final boolean postgres;
+
+    public DatabasePlatform(DataSource dataSource) {
+        String product;
+        try (Connection connection = dataSource.getConnection()) {
+            product = connection.getMetaData().getDatabaseProductName();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read the database product from the DataSource", e);
+        }
+        this.postgres = product != null && product.toLowerCase(Locale.ROOT).contains("postgresql");
+        log.info("Database product: {}", product);
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoSearchService;
+import com.example.todoapp.service.impl.PostgresTodoSearchServiceImpl;
+import com.example.todoapp.service.impl.TrigramTodoSearchServiceImpl;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@Configuration
+public class SearchConfig {
+
+    // PostgreSQL answers from its tsvector/pg_trgm indexes (schema-postgres.sql); anything else gets the in-memory
+    // trigram index. Chosen by the connected database, like TodoMutationRepository, not by profile.
+    @Bean
+    public TodoSearchService todoSearchService(DatabasePlatform databasePlatform,
+                                               NamedParameterJdbcTemplate jdbcTemplate,
+                                               TodoRepository todoRepository) {
+        if (databasePlatform.isPostgres()) {
+            return new PostgresTodoSearchServiceImpl(jdbcTemplate);
+        }
+        return new TrigramTodoSearchServiceImpl(todoRepository);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.todoapp.config;
 import com.example.todoapp.security.CustomUserDetailsService;
 import com.example.todoapp.security.JwtAuthenticationEntryPoint;
 import com.example.todoapp.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,6 +42,8 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches finish streamed responses (SSE, backups) whose request was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/health").permitAll() // Health endpoint is now publicly accessible
                 .requestMatchers("/h2-console/**").permitAll()
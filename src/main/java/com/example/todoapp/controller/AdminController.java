@@ -0,0 +1,91 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.dto.backup.BackupRestoreResultDto;
+import com.example.todoapp.dto.common.CacheStatsDto;
+import com.example.todoapp.security.CustomUserDetailsService;
+import com.example.todoapp.service.BackupService;
+import com.example.todoapp.service.TodoCacheService;
+import com.example.todoapp.service.TodoDeadlineIndexService;
+import com.example.todoapp.service.TokenVerificationService;
+import com.example.todoapp.service.UserSecurityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private static final String APPLICATION_GZIP = "application/gzip";
+    private static final DateTimeFormatter BACKUP_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final TodoCacheService todoCacheService;
+    private final TodoDeadlineIndexService todoDeadlineIndexService;
+    private final TokenVerificationService tokenVerificationService;
+    private final UserSecurityService userSecurityService;
+    private final CustomUserDetailsService userDetailsService;
+    private final BackupService backupService;
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(List.of(
+                todoCacheService.getStats(),
+                todoDeadlineIndexService.getStats(),
+                tokenVerificationService.getStats(),
+                userSecurityService.getStats(),
+                userDetailsService.getStats()));
+    }
+
+    // Account state
+    @PostMapping("/users/{userId}/disable")
+    public ResponseEntity<Void> disableUser(@PathVariable Long userId) {
+        userSecurityService.setAccountEnabled(userId, false);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/users/{userId}/enable")
+    public ResponseEntity<Void> enableUser(@PathVariable Long userId) {
+        userSecurityService.setAccountEnabled(userId, true);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Backup and restore
+    @GetMapping("/backup")
+    public ResponseEntity<StreamingResponseBody> exportBackup() {
+        return backupResponse(null, "todo-backup");
+    }
+
+    @GetMapping("/backup/users/{userId}")
+    public ResponseEntity<StreamingResponseBody> exportUserBackup(@PathVariable Long userId) {
+        backupService.checkUserExists(userId);
+        return backupResponse(userId, "todo-backup-user-" + userId);
+    }
+
+    @PostMapping(value = "/restore", consumes = {APPLICATION_GZIP, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<BackupRestoreResultDto> restoreBackup(InputStream body) throws IOException {
+        BackupRestoreResultDto result = backupService.restore(body);
+        return ResponseEntity.ok(result);
+    }
+
+    private ResponseEntity<StreamingResponseBody> backupResponse(Long userId, String name) {
+        String filename = name + "-" + LocalDateTime.now().format(BACKUP_TIMESTAMP) + ".ndjson.gz";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_GZIP))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> backupService.export(userId, out));
+    }
+}
@@ -3,6 +3,7 @@ package com.example.todoapp.controller;
 import com.example.todoapp.dto.auth.AuthResponseDto;
 import com.example.todoapp.dto.auth.EmailVerificationRequestDto;
 import com.example.todoapp.dto.auth.LoginRequestDto;
+import com.example.todoapp.dto.auth.RefreshTokenRequestDto;
 import com.example.todoapp.dto.auth.RegisterRequestDto;
 import com.example.todoapp.dto.auth.ResendVerificationRequestDto;
 import com.example.todoapp.dto.auth.UserProfileDto;
@@ -11,6 +12,7 @@ import com.example.todoapp.service.AuthService;
 import com.example.todoapp.service.EmailVerificationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -42,12 +44,26 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponseDto.success("User profile retrieved", userProfile));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponseDto<AuthResponseDto>> refresh(@Valid @RequestBody RefreshTokenRequestDto request) {
+        AuthResponseDto response = authService.refresh(request);
+        return ResponseEntity.ok(ApiResponseDto.success("Token refreshed", response));
+    }
+
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponseDto<Void>> logout() {
-        authService.logout();
+    public ResponseEntity<ApiResponseDto<Void>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequestDto request) {
+        authService.logout(authorization, request != null ? request.getRefreshToken() : null);
         return ResponseEntity.ok(ApiResponseDto.success("Logout successful"));
     }
 
+    @PostMapping("/logout-all")
+    public ResponseEntity<ApiResponseDto<Void>> logoutAll() {
+        authService.logoutAll();
+        return ResponseEntity.ok(ApiResponseDto.success("Logged out of all sessions"));
+    }
+
     @PostMapping("/verify-email")
     public ResponseEntity<ApiResponseDto<AuthResponseDto>> verifyEmail(@Valid @RequestBody EmailVerificationRequestDto request) {
         AuthResponseDto response = emailVerificationService.verifyEmail(request);
@@ -1,19 +1,40 @@
 package com.example.todoapp.controller;
 
+import com.example.todoapp.dto.TodoBatchRequestDto;
+import com.example.todoapp.dto.TodoBatchResultDto;
+import com.example.todoapp.dto.TodoBulkResultDto;
+import com.example.todoapp.dto.TodoCalendarDto;
+import com.example.todoapp.dto.TodoChangesDto;
+import com.example.todoapp.dto.TodoImportEventDto;
 import com.example.todoapp.dto.TodoRequestDto;
 import com.example.todoapp.dto.TodoResponseDto;
 import com.example.todoapp.dto.TodoDeadlineStatsDto;
 import com.example.todoapp.dto.TodoFilterDto;
+import com.example.todoapp.dto.TodoPageDto;
+import com.example.todoapp.service.TodoEventStreamService;
+import com.example.todoapp.service.TodoImportService;
 import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoVersionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/todos")
@@ -21,13 +42,22 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class TodoController {
 
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final String TEXT_CSV = "text/csv";
+
     private final TodoService todoService;
+    private final TodoVersionService todoVersionService;
+    private final TodoImportService todoImportService;
+    private final TodoEventStreamService todoEventStreamService;
+    private final ObjectMapper objectMapper;
 
     // Basic CRUD operations for current user
     @GetMapping
-    public ResponseEntity<List<TodoResponseDto>> getCurrentUserTodos() {
-        List<TodoResponseDto> todos = todoService.getCurrentUserTodos();
-        return ResponseEntity.ok(todos);
+    public ResponseEntity<TodoPageDto> getCurrentUserTodos(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            WebRequest request) {
+        return conditionalGet(request, () -> todoService.getCurrentUserTodos(after, limit));
     }
 
     @GetMapping("/{id}")
@@ -64,41 +94,63 @@ public class TodoController {
 
     // Deadline-specific endpoints
     @GetMapping("/sorted-by-deadline")
-    public ResponseEntity<List<TodoResponseDto>> getCurrentUserTodosSortedByDeadline() {
-        List<TodoResponseDto> todos = todoService.getCurrentUserTodosSortedByDeadline();
-        return ResponseEntity.ok(todos);
+    public ResponseEntity<TodoPageDto> getCurrentUserTodosSortedByDeadline(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            WebRequest request) {
+        return conditionalGet(request, () -> todoService.getCurrentUserTodosSortedByDeadline(after, limit));
     }
 
     @GetMapping("/with-deadlines")
-    public ResponseEntity<List<TodoResponseDto>> getCurrentUserTodosWithDeadlines() {
-        List<TodoResponseDto> todos = todoService.getCurrentUserTodosWithDeadlines();
-        return ResponseEntity.ok(todos);
+    public ResponseEntity<TodoPageDto> getCurrentUserTodosWithDeadlines(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            WebRequest request) {
+        return conditionalGet(request, () -> todoService.getCurrentUserTodosWithDeadlines(after, limit));
     }
 
     @GetMapping("/without-deadlines")
-    public ResponseEntity<List<TodoResponseDto>> getCurrentUserTodosWithoutDeadlines() {
-        List<TodoResponseDto> todos = todoService.getCurrentUserTodosWithoutDeadlines();
-        return ResponseEntity.ok(todos);
+    public ResponseEntity<TodoPageDto> getCurrentUserTodosWithoutDeadlines(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            WebRequest request) {
+        return conditionalGet(request, () -> todoService.getCurrentUserTodosWithoutDeadlines(after, limit));
     }
 
     @GetMapping("/overdue")
-    public ResponseEntity<List<TodoResponseDto>> getCurrentUserOverdueTodos() {
-        List<TodoResponseDto> todos = todoService.getCurrentUserOverdueTodos();
-        return ResponseEntity.ok(todos);
+    public ResponseEntity<TodoPageDto> getCurrentUserOverdueTodos(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            WebRequest request) {
+        return conditionalGet(request, () -> todoService.getCurrentUserOverdueTodos(after, limit));
     }
 
     @GetMapping("/due-soon")
-    public ResponseEntity<List<TodoResponseDto>> getCurrentUserDueSoonTodos() {
-        List<TodoResponseDto> todos = todoService.getCurrentUserDueSoonTodos();
-        return ResponseEntity.ok(todos);
+    public ResponseEntity<TodoPageDto> getCurrentUserDueSoonTodos(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            WebRequest request) {
+        return conditionalGet(request, () -> todoService.getCurrentUserDueSoonTodos(after, limit));
     }
 
     @GetMapping("/by-date-range")
-    public ResponseEntity<List<TodoResponseDto>> getCurrentUserTodosByDateRange(
+    public ResponseEntity<TodoPageDto> getCurrentUserTodosByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<TodoResponseDto> todos = todoService.getCurrentUserTodosByDateRange(startDate, endDate);
-        return ResponseEntity.ok(todos);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            WebRequest request) {
+        return conditionalGet(request, () -> todoService.getCurrentUserTodosByDateRange(startDate, endDate, after, limit));
+    }
+
+    // Delta sync: todos written and ids deleted after "since"; page with "after" until hasMore is false
+    @GetMapping("/changes")
+    public ResponseEntity<TodoChangesDto> getCurrentUserTodoChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            WebRequest request) {
+        return conditionalGet(request, () -> todoService.getCurrentUserTodoChanges(since, after, limit));
     }
 
     // Deadline management
@@ -116,23 +168,101 @@ public class TodoController {
         return ResponseEntity.ok(updatedTodo);
     }
 
+    // Bulk operations
+    @PostMapping("/batch")
+    public ResponseEntity<TodoBatchResultDto> batchCurrentUserTodos(@Valid @RequestBody TodoBatchRequestDto batchRequest) {
+        TodoBatchResultDto result = todoService.batchCurrentUserTodos(batchRequest);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/overdue/complete")
+    public ResponseEntity<TodoBulkResultDto> completeCurrentUserOverdueTodos() {
+        TodoBulkResultDto result = todoService.completeCurrentUserOverdueTodos();
+        return ResponseEntity.ok(result);
+    }
+
+    @DeleteMapping("/completed")
+    public ResponseEntity<TodoBulkResultDto> deleteCurrentUserCompletedTodos() {
+        TodoBulkResultDto result = todoService.deleteCurrentUserCompletedTodos();
+        return ResponseEntity.ok(result);
+    }
+
+    // Streams the body in and the NDJSON report (row errors, progress per batch, summary) back out
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV})
+    public void importCurrentUserTodos(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        TodoImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? TodoImportService.Format.CSV
+                : TodoImportService.Format.NDJSON;
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        PrintWriter writer = response.getWriter();
+        todoImportService.importCurrentUserTodos(request.getInputStream(), format, event -> {
+            try {
+                writer.println(objectMapper.writeValueAsString(event));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (event.getType() != TodoImportEventDto.Type.ERROR) {
+                writer.flush();
+            }
+        });
+        writer.flush();
+    }
+
+    // Live updates - created/updated/toggled/deleted todos and deadline reminders as Server-Sent Events
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCurrentUserTodoEvents() {
+        return todoEventStreamService.subscribeCurrentUser();
+    }
+
     // Statistics and analytics
     @GetMapping("/stats")
-    public ResponseEntity<TodoDeadlineStatsDto> getCurrentUserTodoStats() {
-        TodoDeadlineStatsDto stats = todoService.getCurrentUserTodoStats();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<TodoDeadlineStatsDto> getCurrentUserTodoStats(WebRequest request) {
+        return conditionalGet(request, todoService::getCurrentUserTodoStats);
+    }
+
+    // Per-day (or per-week) counts for calendar views; a day's todos come from /by-date-range on demand
+    @GetMapping("/calendar")
+    public ResponseEntity<TodoCalendarDto> getCurrentUserTodoCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") TodoCalendarDto.Granularity granularity,
+            WebRequest request) {
+        return conditionalGet(request, () -> todoService.getCurrentUserTodoCalendar(from, to, granularity));
     }
 
     // Search and filter
     @GetMapping("/search")
-    public ResponseEntity<List<TodoResponseDto>> searchCurrentUserTodos(@RequestParam String keyword) {
-        List<TodoResponseDto> todos = todoService.searchCurrentUserTodos(keyword);
-        return ResponseEntity.ok(todos);
+    public ResponseEntity<TodoPageDto> searchCurrentUserTodos(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            WebRequest request) {
+        return conditionalGet(request, () -> todoService.searchCurrentUserTodos(keyword, after, limit));
     }
 
     @PostMapping("/filter")
-    public ResponseEntity<List<TodoResponseDto>> filterCurrentUserTodos(@RequestBody TodoFilterDto filter) {
-        List<TodoResponseDto> todos = todoService.filterCurrentUserTodos(filter);
+    public ResponseEntity<TodoPageDto> filterCurrentUserTodos(
+            @RequestBody TodoFilterDto filter,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        TodoPageDto todos = todoService.filterCurrentUserTodos(filter, after, limit);
         return ResponseEntity.ok(todos);
     }
+
+    // The ETag comes from the per-user change version, so a matching If-None-Match never touches todo rows
+    private <T> ResponseEntity<T> conditionalGet(WebRequest request, Supplier<T> loader) {
+        String eTag = todoVersionService.getCurrentUserETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(loader.get());
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchItemResultDto {
+    private int index; // Position of the operation in the request
+    private TodoBatchOperationDto.Op op;
+    private Long id;
+    private int status; // HTTP status the single-item endpoint would have returned
+    private String error;
+    private TodoResponseDto todo; // Resulting todo, null for deletes and failures
+}
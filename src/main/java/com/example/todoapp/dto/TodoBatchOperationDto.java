@@ -0,0 +1,32 @@
+package com.example.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchOperationDto {
+
+    public enum Op {
+        CREATE, UPDATE, TOGGLE, DELETE, SET_DEADLINE
+    }
+
+    @NotNull(message = "Operation is required")
+    private Op op;
+
+    private Long id; // Required for everything except CREATE
+
+    // CREATE / UPDATE fields; SET_DEADLINE only reads deadline (null removes it)
+    private String title;
+    private String description;
+    private Boolean completed;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime deadline;
+}
@@ -0,0 +1,22 @@
+package com.example.todoapp.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchRequestDto {
+
+    public static final int MAX_OPERATIONS = 500;
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = MAX_OPERATIONS, message = "A batch cannot exceed 500 operations")
+    private List<@Valid TodoBatchOperationDto> operations;
+}
@@ -0,0 +1,18 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchResultDto {
+    private List<TodoBatchItemResultDto> results;
+    private int succeeded;
+    private int failed;
+}
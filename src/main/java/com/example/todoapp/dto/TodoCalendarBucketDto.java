@@ -0,0 +1,20 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Counts for one day, or for the week starting on that Monday
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoCalendarBucketDto {
+    private LocalDate date;
+    private long openTodos;
+    private long completedTodos;
+    private long overdueTodos;
+}
@@ -0,0 +1,26 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Sparse calendar heatmap: only buckets with at least one deadline are listed
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoCalendarDto {
+
+    public enum Granularity {
+        DAY, WEEK
+    }
+
+    private Granularity granularity;
+    private LocalDate from;
+    private LocalDate to;
+    private List<TodoCalendarBucketDto> buckets;
+}
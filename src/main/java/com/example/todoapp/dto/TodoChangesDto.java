@@ -0,0 +1,23 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of delta sync. Once hasMore is false, version is the "since" value for the next sync.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoChangesDto {
+    private List<TodoResponseDto> changed;
+    private List<Long> deleted;
+    private long version;
+    private boolean resyncRequired; // Tombstones after "since" were compacted; start over without "since"
+    private String nextCursor; // Opaque cursor, pass back as "after" together with the same "since"
+    private boolean hasMore;
+    private int limit;
+}
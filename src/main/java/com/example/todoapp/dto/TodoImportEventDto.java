@@ -0,0 +1,28 @@
+package com.example.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of the NDJSON import report: a rejected row, a progress tick after each batch, or the final summary
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoImportEventDto {
+
+    public enum Type {
+        ERROR, PROGRESS, SUMMARY
+    }
+
+    private Type type;
+    private Long line;
+    private String error;
+    private Long processed;
+    private Long imported;
+    private Long failed;
+    private Boolean aborted;
+}
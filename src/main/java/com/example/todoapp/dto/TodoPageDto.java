@@ -0,0 +1,19 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoPageDto {
+    private List<TodoResponseDto> items;
+    private String nextCursor; // Opaque cursor, pass back as "after" to fetch the next page
+    private boolean hasMore;
+    private int limit;
+}
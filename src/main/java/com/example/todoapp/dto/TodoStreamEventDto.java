@@ -0,0 +1,31 @@
+package com.example.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Payload of one /api/todos/events message; deleted todos only carry their id, and RESYNC carries nothing: the client
+// refetches its lists instead of applying row changes
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoStreamEventDto {
+
+    public enum Type {
+        CREATED, UPDATED, TOGGLED, DELETED, DUE_SOON, OVERDUE, RESYNC
+    }
+
+    private Type type;
+    private Long todoId;
+    private String title;
+    private String description;
+    private Boolean completed;
+    private LocalDateTime deadline;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,53 @@
+package com.example.todoapp.dto.backup;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One line of a backup archive (gzip-compressed NDJSON). Archives list a header, then roles, users,
+// user-role links and todos, in that order, so a restore can map ids in a single forward pass.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BackupRecordDto {
+
+    public enum Type {
+        HEADER, ROLE, USER, USER_ROLE, TODO
+    }
+
+    private Type type;
+    private Long id;
+    private Long userId;
+
+    // HEADER
+    private Integer version;
+    private String scope;
+    private LocalDateTime exportedAt;
+
+    // ROLE (name is also the role reference of USER_ROLE)
+    private String name;
+    private String description;
+
+    // USER
+    private String username;
+    private String email;
+    private String password;
+    private String firstName;
+    private String lastName;
+    private Boolean emailVerified;
+    private Boolean enabled;
+
+    // TODO (description is shared with ROLE)
+    private String title;
+    private Boolean completed;
+    private LocalDateTime deadline;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,17 @@
+package com.example.todoapp.dto.backup;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackupRestoreResultDto {
+    private long rolesCreated;
+    private long usersRestored;
+    private long usersSkipped; // Username or email already taken; their links and todos are skipped too
+    private long userRolesRestored;
+    private long todosRestored;
+    private long todosSkipped;
+}
@@ -0,0 +1,39 @@
+package com.example.todoapp.dto.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private String name;
+    private long estimatedSize;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long loadCount;
+    private double averageLoadPenaltyMillis;
+    // Only reported by caches that can size their entries
+    private Long estimatedBytes;
+
+    public static CacheStatsDto of(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .name(name)
+                .estimatedSize(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .loadCount(stats.loadCount())
+                .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000.0)
+                .build();
+    }
+}
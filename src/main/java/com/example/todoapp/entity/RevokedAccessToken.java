@@ -0,0 +1,35 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Denylist entry for a logged-out access token, shared by every instance; only its SHA-256 is stored
+@Entity
+@Table(name = "revoked_access_tokens")
+@Data
+@NoArgsConstructor
+public class RevokedAccessToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // The token's own exp; the row is useless afterwards and gets purged
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    public RevokedAccessToken(String tokenHash, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+}
@@ -52,19 +52,12 @@ public class Todo {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Version allocated by TodoCounterService for the write that last touched this todo
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+
     // Deadline utility methods
     public boolean hasDeadline() {
         return deadline != null;
     }
-    
-    public boolean isOverdue() {
-        return hasDeadline() && !completed && LocalDateTime.now().isAfter(deadline);
-    }
-    
-    public boolean isDueSoon() {
-        if (!hasDeadline() || completed) return false;
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime dueSoonThreshold = now.plusDays(1); // Within 24 hours
-        return deadline.isBefore(dueSoonThreshold) && deadline.isAfter(now);
-    }
 }
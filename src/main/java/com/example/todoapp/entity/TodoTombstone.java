@@ -0,0 +1,30 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Marker left behind by a deleted todo so delta sync can report the delete
+@Entity
+@Table(name = "todo_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoTombstone {
+
+    @Id
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -56,6 +56,10 @@ public class User {
     @Column(nullable = false)
     private Boolean enabled = false;
 
+    // Only ever moved by UserRepository.incrementSecurityVersion, so saving a loaded user never rolls it back
+    @Column(name = "security_version", nullable = false, insertable = false, updatable = false)
+    private Long securityVersion = 0L;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
         name = "user_roles",
@@ -0,0 +1,48 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_todo_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTodoCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_todos", nullable = false)
+    private Long totalTodos = 0L;
+
+    @Column(name = "completed_todos", nullable = false)
+    private Long completedTodos = 0L;
+
+    @Column(name = "todos_with_deadline", nullable = false)
+    private Long todosWithDeadline = 0L;
+
+    @Column(name = "completed_with_deadline", nullable = false)
+    private Long completedWithDeadline = 0L;
+
+    // Only ever moved by UserTodoCounterRepository updates, so rebuilt counters never reset them
+    @Column(name = "change_version", nullable = false, insertable = false, updatable = false)
+    private Long changeVersion = 0L;
+
+    @Column(name = "tombstones_purged_version", nullable = false, insertable = false, updatable = false)
+    private Long tombstonesPurgedVersion = 0L;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public UserTodoCounter(Long userId) {
+        this.userId = userId;
+    }
+}
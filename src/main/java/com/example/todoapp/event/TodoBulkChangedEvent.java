@@ -0,0 +1,14 @@
+package com.example.todoapp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published once for a write that may touch many of a user's todos (batches, bulk completes and deletes, imports)
+// in place of one TodoChangedEvent per row. Listeners run after the transaction commits and drop or reload
+// whatever they hold for the user.
+@Getter
+@AllArgsConstructor
+public class TodoBulkChangedEvent {
+
+    private final Long userId;
+}
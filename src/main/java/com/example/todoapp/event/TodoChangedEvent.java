@@ -0,0 +1,66 @@
+package com.example.todoapp.event;
+
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.repository.TodoRow;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Published by TodoServiceImpl for every single-todo mutation (multi-row writes publish TodoBulkChangedEvent);
+// listeners run after the transaction commits
+@Getter
+@AllArgsConstructor
+public class TodoChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, TOGGLED, DELETED
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final Long todoId;
+    private final String title;
+    private final String description;
+    private final Boolean completed;
+    private final LocalDateTime deadline;
+    private final LocalDateTime createdAt;
+
+    public static TodoChangedEvent created(Long userId, Todo todo) {
+        return of(Type.CREATED, userId, todo);
+    }
+
+    public static TodoChangedEvent updated(Long userId, Todo todo) {
+        return of(Type.UPDATED, userId, todo);
+    }
+
+    public static TodoChangedEvent deleted(Long userId, Todo todo) {
+        return of(Type.DELETED, userId, todo);
+    }
+
+    public static TodoChangedEvent created(Long userId, TodoRow todo) {
+        return of(Type.CREATED, userId, todo);
+    }
+
+    public static TodoChangedEvent updated(Long userId, TodoRow todo) {
+        return of(Type.UPDATED, userId, todo);
+    }
+
+    // An update that only flipped the completed flag
+    public static TodoChangedEvent toggled(Long userId, TodoRow todo) {
+        return of(Type.TOGGLED, userId, todo);
+    }
+
+    public static TodoChangedEvent deleted(Long userId, TodoRow todo) {
+        return of(Type.DELETED, userId, todo);
+    }
+
+    private static TodoChangedEvent of(Type type, Long userId, Todo todo) {
+        return of(type, userId, TodoRow.from(todo));
+    }
+
+    private static TodoChangedEvent of(Type type, Long userId, TodoRow todo) {
+        return new TodoChangedEvent(type, userId, todo.getId(), todo.getTitle(), todo.getDescription(),
+                todo.getCompleted(), todo.getDeadline(), todo.getCreatedAt());
+    }
+}
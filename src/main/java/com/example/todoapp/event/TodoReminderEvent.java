@@ -0,0 +1,25 @@
+package com.example.todoapp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Published by DeadlineReminderServiceImpl on every instance when a todo enters its due-soon window or passes its
+// deadline. Each instance pushes it to its own event streams; claimed is true on exactly one instance, and only
+// that one sends notifications that leave the application (email).
+@Getter
+@AllArgsConstructor
+public class TodoReminderEvent {
+
+    public enum Type {
+        DUE_SOON, OVERDUE
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final Long todoId;
+    private final String title;
+    private final LocalDateTime deadline;
+    private final boolean claimed;
+}
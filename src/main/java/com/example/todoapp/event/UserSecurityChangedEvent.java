@@ -0,0 +1,12 @@
+package com.example.todoapp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when an account is enabled, disabled or its rights change; listeners run after the transaction commits
+@Getter
+@AllArgsConstructor
+public class UserSecurityChangedEvent {
+
+    private final Long userId;
+}
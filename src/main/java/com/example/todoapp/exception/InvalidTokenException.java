@@ -0,0 +1,16 @@
+package com.example.todoapp.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class InvalidTokenException extends RuntimeException {
+    
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+    
+    public InvalidTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
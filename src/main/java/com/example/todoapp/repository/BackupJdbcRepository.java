@@ -0,0 +1,215 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.dto.backup.BackupRecordDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Forward-only scans and batch inserts behind backup export/restore. Scans must run inside a
+// transaction so PostgreSQL honours the fetch size with a server-side cursor instead of buffering.
+@Repository
+@RequiredArgsConstructor
+public class BackupJdbcRepository {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, email, password, first_name, last_name, email_verified, enabled, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_TODO =
+            "INSERT INTO todos (title, description, completed, deadline, user_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Value("${app.backup.fetch-size:1000}")
+    private int fetchSize;
+
+    public void streamRoles(Consumer<BackupRecordDto> sink) {
+        stream("SELECT id, name, description FROM roles ORDER BY id", null, (rs, i) -> BackupRecordDto.builder()
+                .type(BackupRecordDto.Type.ROLE)
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .build(), sink);
+    }
+
+    // A null userId streams every user
+    public void streamUsers(Long userId, Consumer<BackupRecordDto> sink) {
+        String sql = "SELECT id, username, email, password, first_name, last_name, email_verified, enabled, created_at, updated_at " +
+                     "FROM users" + (userId != null ? " WHERE id = ?" : "");
+        stream(sql, userId, (rs, i) -> BackupRecordDto.builder()
+                .type(BackupRecordDto.Type.USER)
+                .id(rs.getLong("id"))
+                .username(rs.getString("username"))
+                .email(rs.getString("email"))
+                .password(rs.getString("password"))
+                .firstName(rs.getString("first_name"))
+                .lastName(rs.getString("last_name"))
+                .emailVerified(rs.getBoolean("email_verified"))
+                .enabled(rs.getBoolean("enabled"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .build(), sink);
+    }
+
+    public void streamUserRoles(Long userId, Consumer<BackupRecordDto> sink) {
+        String sql = "SELECT ur.user_id, r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id" +
+                     (userId != null ? " WHERE ur.user_id = ?" : "");
+        stream(sql, userId, (rs, i) -> BackupRecordDto.builder()
+                .type(BackupRecordDto.Type.USER_ROLE)
+                .userId(rs.getLong("user_id"))
+                .name(rs.getString("name"))
+                .build(), sink);
+    }
+
+    public void streamTodos(Long userId, Consumer<BackupRecordDto> sink) {
+        String sql = "SELECT id, user_id, title, description, completed, deadline, created_at, updated_at FROM todos" +
+                     (userId != null ? " WHERE user_id = ?" : "");
+        stream(sql, userId, (rs, i) -> BackupRecordDto.builder()
+                .type(BackupRecordDto.Type.TODO)
+                .id(rs.getLong("id"))
+                .userId(rs.getLong("user_id"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .completed(rs.getBoolean("completed"))
+                .deadline(toLocalDateTime(rs.getTimestamp("deadline")))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .build(), sink);
+    }
+
+    public Map<String, Long> findRoleIdsByName() {
+        Map<String, Long> roles = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM roles", (RowCallbackHandler) rs -> roles.put(rs.getString("name"), rs.getLong("id")));
+        return roles;
+    }
+
+    public Long insertRole(String name, String description) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO roles (name, description) VALUES (?, ?)", new String[]{"id"});
+            ps.setString(1, name);
+            ps.setString(2, description);
+            return ps;
+        }, keyHolder);
+        return generatedId(keyHolder.getKeyList().get(0));
+    }
+
+    // Usernames and emails from the given users that are already taken
+    public Set<String> findTakenUsernamesAndEmails(Collection<String> usernames, Collection<String> emails) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usernames", usernames)
+                .addValue("emails", emails);
+        Set<String> taken = new HashSet<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT username, email FROM users WHERE username IN (:usernames) OR email IN (:emails)", params,
+                (RowCallbackHandler) rs -> {
+                    taken.add(rs.getString("username"));
+                    taken.add(rs.getString("email"));
+                });
+        return taken;
+    }
+
+    // Returns the generated ids in input order
+    public List<Long> insertUsers(List<BackupRecordDto> users) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_USER, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        BackupRecordDto user = users.get(i);
+                        ps.setString(1, user.getUsername());
+                        ps.setString(2, user.getEmail());
+                        ps.setString(3, user.getPassword());
+                        ps.setString(4, user.getFirstName());
+                        ps.setString(5, user.getLastName());
+                        ps.setBoolean(6, Boolean.TRUE.equals(user.getEmailVerified()));
+                        ps.setBoolean(7, Boolean.TRUE.equals(user.getEnabled()));
+                        ps.setTimestamp(8, toTimestamp(orNow(user.getCreatedAt())));
+                        ps.setTimestamp(9, toTimestamp(orNow(user.getUpdatedAt())));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                },
+                keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(this::generatedId)
+                .collect(Collectors.toList());
+    }
+
+    // Each link is {userId, roleId}
+    public void insertUserRoles(List<long[]> links) {
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, links, links.size(), (ps, link) -> {
+            ps.setLong(1, link[0]);
+            ps.setLong(2, link[1]);
+        });
+    }
+
+    // Todos must already carry the user id of the target database
+    public void insertTodos(List<BackupRecordDto> todos) {
+        jdbcTemplate.batchUpdate(INSERT_TODO, todos, todos.size(), (ps, todo) -> {
+            ps.setString(1, todo.getTitle());
+            ps.setString(2, todo.getDescription());
+            ps.setBoolean(3, Boolean.TRUE.equals(todo.getCompleted()));
+            ps.setTimestamp(4, toTimestamp(todo.getDeadline()));
+            ps.setLong(5, todo.getUserId());
+            ps.setTimestamp(6, toTimestamp(orNow(todo.getCreatedAt())));
+            ps.setTimestamp(7, toTimestamp(orNow(todo.getUpdatedAt())));
+        });
+    }
+
+    private void stream(String sql, Long userId, RowMapper<BackupRecordDto> mapper, Consumer<BackupRecordDto> sink) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            if (userId != null) {
+                ps.setLong(1, userId);
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> sink.accept(mapper.mapRow(rs, rs.getRow())));
+    }
+
+    private Long generatedId(Map<String, Object> keys) {
+        return ((Number) keys.values().iterator().next()).longValue();
+    }
+
+    private LocalDateTime orNow(LocalDateTime value) {
+        return value != null ? value : LocalDateTime.now();
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+
+    private Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.RevokedAccessToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, Long> {
+
+    // Served by the unique index on token_hash
+    boolean existsByTokenHash(String tokenHash);
+
+    // Revocations made by any instance since the given time, for the local caches
+    @Query("SELECT t FROM RevokedAccessToken t WHERE t.revokedAt >= :since AND t.expiresAt > :now")
+    List<RevokedAccessToken> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id FROM RevokedAccessToken t WHERE t.expiresAt < :now")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RevokedAccessToken t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,11 @@
+package com.example.todoapp.repository;
+
+import java.time.LocalDate;
+
+// One day of the calendar aggregation: todo counts by state for deadlines falling on that date
+public interface TodoCalendarView {
+    LocalDate getBucket();
+    Long getOpenTodos();
+    Long getCompletedTodos();
+    Long getOverdueTodos();
+}
@@ -0,0 +1,19 @@
+package com.example.todoapp.repository;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// TodoRow plus the change version it was last written with, for delta sync paging
+@Getter
+public class TodoChangeRow {
+
+    private final TodoRow row;
+    private final long changeVersion;
+
+    public TodoChangeRow(Long id, String title, String description, Boolean completed, LocalDateTime deadline,
+                         LocalDateTime createdAt, LocalDateTime updatedAt, Long changeVersion) {
+        this.row = new TodoRow(id, title, description, completed, deadline, createdAt, updatedAt);
+        this.changeVersion = changeVersion;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.todoapp.repository;
+
+// Projection for rebuilding user_todo_counters rows from the todos table
+public interface TodoCountsView {
+    Long getUserId();
+    Long getTotalTodos();
+    Long getCompletedTodos();
+    Long getTodosWithDeadline();
+    Long getCompletedWithDeadline();
+}
@@ -0,0 +1,10 @@
+package com.example.todoapp.repository;
+
+import java.time.LocalDateTime;
+
+// Projection with just the columns the in-memory deadline index is built from
+public interface TodoDeadlineView {
+    Long getId();
+    LocalDateTime getDeadline();
+    Boolean getCompleted();
+}
@@ -0,0 +1,99 @@
+package com.example.todoapp.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// JDBC batch writes for multi-row todo operations. Hibernate cannot batch inserts into IDENTITY
+// columns, but a JDBC batch still hands back one generated key per row.
+@Repository
+@RequiredArgsConstructor
+public class TodoJdbcRepository {
+
+    private static final String INSERT_TODO =
+            "INSERT INTO todos (title, description, completed, deadline, user_id, created_at, updated_at, change_version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_TODO =
+            "UPDATE todos SET title = ?, description = ?, completed = ?, deadline = ?, updated_at = ?, change_version = ? " +
+            "WHERE id = ? AND user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Returns the generated ids in input order
+    public List<Long> insertAll(Long userId, List<TodoRow> todos, long changeVersion) {
+        if (todos.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_TODO, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        TodoRow todo = todos.get(i);
+                        ps.setString(1, todo.getTitle());
+                        ps.setString(2, todo.getDescription());
+                        ps.setBoolean(3, todo.getCompleted());
+                        ps.setTimestamp(4, toTimestamp(todo.getDeadline()));
+                        ps.setLong(5, userId);
+                        ps.setTimestamp(6, toTimestamp(todo.getCreatedAt()));
+                        ps.setTimestamp(7, toTimestamp(todo.getUpdatedAt()));
+                        ps.setLong(8, changeVersion);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return todos.size();
+                    }
+                },
+                keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(this::generatedId)
+                .collect(Collectors.toList());
+    }
+
+    public int[] updateAll(Long userId, List<TodoRow> todos, long changeVersion) {
+        if (todos.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_TODO, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TodoRow todo = todos.get(i);
+                ps.setString(1, todo.getTitle());
+                ps.setString(2, todo.getDescription());
+                ps.setBoolean(3, todo.getCompleted());
+                ps.setTimestamp(4, toTimestamp(todo.getDeadline()));
+                ps.setTimestamp(5, toTimestamp(todo.getUpdatedAt()));
+                ps.setLong(6, changeVersion);
+                ps.setLong(7, todo.getId());
+                ps.setLong(8, userId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return todos.size();
+            }
+        });
+    }
+
+    // Drivers disagree on the key column's case, so take the single value
+    private Long generatedId(Map<String, Object> keys) {
+        return ((Number) keys.values().iterator().next()).longValue();
+    }
+
+    private Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.config.DatabasePlatform;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Single-statement, ownership-scoped todo mutations. Each statement also hands back the row as it was
+// before the change (H2: OLD TABLE delta table, PostgreSQL: RETURNING from a row-locking subquery),
+// so callers get the 404 decision, counter deltas and response from one round trip. Reminder claims hand back
+// the ids they claimed the same way.
+@Repository
+public class TodoMutationRepository {
+
+    private static final String ROW_COLUMNS = "id, title, description, completed, deadline, created_at, updated_at";
+    private static final String OLD_ROW_COLUMNS =
+            "o.id, o.title, o.description, o.completed, o.deadline, o.created_at, o.updated_at";
+    private static final String LOCK_OLD_ROW =
+            "FROM (SELECT " + ROW_COLUMNS + " FROM todos WHERE id = ? AND user_id = ? FOR UPDATE) o WHERE t.id = o.id ";
+
+    private static final String H2_TOGGLE =
+            "SELECT " + ROW_COLUMNS + " FROM OLD TABLE (UPDATE todos SET completed = NOT completed, updated_at = ?, change_version = ? " +
+            "WHERE id = ? AND user_id = ?)";
+    private static final String H2_SET_DEADLINE =
+            "SELECT " + ROW_COLUMNS + " FROM OLD TABLE (UPDATE todos SET deadline = ?, updated_at = ?, change_version = ? " +
+            "WHERE id = ? AND user_id = ?)";
+    private static final String H2_DELETE =
+            "SELECT " + ROW_COLUMNS + " FROM OLD TABLE (DELETE FROM todos WHERE id = ? AND user_id = ?)";
+
+    private static final String POSTGRES_TOGGLE =
+            "UPDATE todos t SET completed = NOT o.completed, updated_at = ?, change_version = ? " + LOCK_OLD_ROW +
+            "RETURNING " + OLD_ROW_COLUMNS;
+    private static final String POSTGRES_SET_DEADLINE =
+            "UPDATE todos t SET deadline = ?, updated_at = ?, change_version = ? " + LOCK_OLD_ROW +
+            "RETURNING " + OLD_ROW_COLUMNS;
+    private static final String POSTGRES_DELETE =
+            "DELETE FROM todos WHERE id = ? AND user_id = ? RETURNING " + ROW_COLUMNS;
+
+    // %1$s: reminder column, %2$s: id placeholders, %3$s: (id, deadline) placeholders
+    private static final String CLAIM_REMINDERS =
+            "UPDATE todos SET %1$s = deadline, updated_at = updated_at " +
+            "WHERE id IN (%2$s) AND (id, deadline) IN (%3$s) AND completed = FALSE " +
+            "AND (%1$s IS NULL OR %1$s <> deadline)";
+    private static final String H2_CLAIM_REMINDERS = "SELECT id FROM FINAL TABLE (" + CLAIM_REMINDERS + ")";
+    private static final String POSTGRES_CLAIM_REMINDERS = CLAIM_REMINDERS + " RETURNING id";
+
+    private static final RowMapper<TodoRow> ROW_MAPPER = (rs, rowNum) -> new TodoRow(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getBoolean("completed"),
+            toLocalDateTime(rs.getTimestamp("deadline")),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("updated_at")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public TodoMutationRepository(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = databasePlatform.isPostgres();
+    }
+
+    // All methods return the row before the change, or empty when no todo matched id and user
+    public Optional<TodoRow> toggleCompleted(Long id, Long userId, LocalDateTime now, long changeVersion) {
+        return single(postgres ? POSTGRES_TOGGLE : H2_TOGGLE, Timestamp.valueOf(now), changeVersion, id, userId);
+    }
+
+    public Optional<TodoRow> updateDeadline(Long id, Long userId, LocalDateTime deadline, LocalDateTime now, long changeVersion) {
+        Timestamp newDeadline = deadline != null ? Timestamp.valueOf(deadline) : null;
+        return single(postgres ? POSTGRES_SET_DEADLINE : H2_SET_DEADLINE, newDeadline, Timestamp.valueOf(now), changeVersion, id, userId);
+    }
+
+    public Optional<TodoRow> delete(Long id, Long userId) {
+        return single(postgres ? POSTGRES_DELETE : H2_DELETE, id, userId);
+    }
+
+    // Reminder claims shared by all instances: each (todo, deadline) is claimed by exactly one caller, and only
+    // while the todo is still open with that deadline. updated_at is assigned so H2's ON UPDATE default leaves it
+    // alone. Returns the claimed todo ids.
+    public Set<Long> claimDueSoonReminders(Map<Long, LocalDateTime> deadlines) {
+        return claimReminders("due_soon_reminded_for", deadlines);
+    }
+
+    public Set<Long> claimOverdueReminders(Map<Long, LocalDateTime> deadlines) {
+        return claimReminders("overdue_reminded_for", deadlines);
+    }
+
+    private Set<Long> claimReminders(String column, Map<Long, LocalDateTime> deadlines) {
+        if (deadlines.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<Object> args = new ArrayList<>(deadlines.keySet());
+        deadlines.forEach((id, deadline) -> {
+            args.add(id);
+            args.add(Timestamp.valueOf(deadline));
+        });
+        String sql = String.format(postgres ? POSTGRES_CLAIM_REMINDERS : H2_CLAIM_REMINDERS, column,
+                String.join(", ", Collections.nCopies(deadlines.size(), "?")),
+                String.join(", ", Collections.nCopies(deadlines.size(), "(?, ?)")));
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, args.toArray()));
+    }
+
+    private Optional<TodoRow> single(String sql, Object... args) {
+        List<TodoRow> rows = jdbcTemplate.query(sql, ROW_MAPPER, args);
+        return rows.stream().findFirst();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
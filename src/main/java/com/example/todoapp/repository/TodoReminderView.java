@@ -0,0 +1,12 @@
+package com.example.todoapp.repository;
+
+import java.time.LocalDateTime;
+
+// Projection with just the columns the deadline reminder engine schedules and re-validates against
+public interface TodoReminderView {
+    Long getId();
+    Long getUserId();
+    String getTitle();
+    LocalDateTime getDeadline();
+    Boolean getCompleted();
+}
@@ -1,52 +1,142 @@
 package com.example.todoapp.repository;
 
 import com.example.todoapp.entity.Todo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TodoRepository extends JpaRepository<Todo, Long> {
+public interface TodoRepository extends JpaRepository<Todo, Long>, JpaSpecificationExecutor<Todo>, TodoRepositoryCustom {
+    
+    // Read paths project into TodoRow so rows skip entity hydration and dirty-check snapshots
+    String SELECT_TODO_ROW = "SELECT new com.example.todoapp.repository.TodoRow(t.id, t.title, t.description, t.completed, t.deadline, t.createdAt, t.updatedAt) FROM Todo t ";
     
     // Basic user-specific queries
-    List<Todo> findByUserIdOrderByCreatedAtDesc(Long userId);
-    List<Todo> findByUserIdAndCompletedOrderByCreatedAtDesc(Long userId, Boolean completed);
-    long countByUserId(Long userId);
-    long countByUserIdAndCompleted(Long userId, Boolean completed);
     Optional<Todo> findByIdAndUserId(Long id, Long userId);
+    
+    @Query(SELECT_TODO_ROW + "WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TodoRow> findRowByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    @Query(SELECT_TODO_ROW + "WHERE t.id IN :ids AND t.user.id = :userId")
+    List<TodoRow> findRowsByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
     boolean existsByIdAndUserId(Long id, Long userId);
     
-    // Deadline-specific queries - Fixed method names
-    @Query("SELECT t FROM Todo t WHERE t.user.id = :userId ORDER BY CASE WHEN t.deadline IS NULL THEN 1 ELSE 0 END, t.deadline ASC")
-    List<Todo> findByUserIdOrderByDeadlineAscNullsLast(@Param("userId") Long userId);
+    // Full row set of one user for the per-user read cache, newest first
+    @Query(SELECT_TODO_ROW + "WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoRow> findRowsByUserId(@Param("userId") Long userId);
+    
+    // Keyset pagination queries - seek past (created_at, id) or (deadline, id) of the previous page
+    @Query(SELECT_TODO_ROW + "WHERE t.user.id = :userId AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoRow> findPageByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query(SELECT_TODO_ROW + "WHERE t.user.id = :userId AND t.deadline IS NULL AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoRow> findPageByUserIdAndDeadlineIsNullOrderByCreatedAtDesc(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query(SELECT_TODO_ROW + "WHERE t.user.id = :userId AND t.deadline IS NOT NULL AND (t.deadline > :deadline OR (t.deadline = :deadline AND t.id > :id)) ORDER BY t.deadline ASC, t.id ASC")
+    List<TodoRow> findPageByUserIdAndDeadlineIsNotNullOrderByDeadlineAsc(@Param("userId") Long userId, @Param("deadline") LocalDateTime deadline, @Param("id") Long id, Pageable pageable);
+    
+    // Tail of the "sorted by deadline" listing (nulls last), paged by id instead of a CASE expression
+    @Query(SELECT_TODO_ROW + "WHERE t.user.id = :userId AND t.deadline IS NULL AND t.id > :id ORDER BY t.id ASC")
+    List<TodoRow> findPageByUserIdAndDeadlineIsNullOrderByIdAsc(@Param("userId") Long userId, @Param("id") Long id, Pageable pageable);
+    
+    @Query(SELECT_TODO_ROW + "WHERE t.user.id = :userId AND t.completed = false AND t.deadline < :now AND (t.deadline > :deadline OR (t.deadline = :deadline AND t.id > :id)) ORDER BY t.deadline ASC, t.id ASC")
+    List<TodoRow> findOverduePageByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now, @Param("deadline") LocalDateTime deadline, @Param("id") Long id, Pageable pageable);
+    
+    @Query(SELECT_TODO_ROW + "WHERE t.user.id = :userId AND t.completed = false AND t.deadline > :now AND t.deadline < :dueSoon AND (t.deadline > :deadline OR (t.deadline = :deadline AND t.id > :id)) ORDER BY t.deadline ASC, t.id ASC")
+    List<TodoRow> findDueSoonPageByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now, @Param("dueSoon") LocalDateTime dueSoon, @Param("deadline") LocalDateTime deadline, @Param("id") Long id, Pageable pageable);
+    
+    @Query(SELECT_TODO_ROW + "WHERE t.user.id = :userId AND t.deadline BETWEEN :startDate AND :endDate AND (t.deadline > :deadline OR (t.deadline = :deadline AND t.id > :id)) ORDER BY t.deadline ASC, t.id ASC")
+    List<TodoRow> findPageByUserIdAndDeadlineBetween(@Param("userId") Long userId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, @Param("deadline") LocalDateTime deadline, @Param("id") Long id, Pageable pageable);
+    
+    // Delta sync - todos written after (version, id), served by idx_todos_user_change_version
+    @Query("SELECT new com.example.todoapp.repository.TodoChangeRow(t.id, t.title, t.description, t.completed, t.deadline, t.createdAt, t.updatedAt, t.changeVersion) FROM Todo t " +
+           "WHERE t.user.id = :userId AND (t.changeVersion > :version OR (t.changeVersion = :version AND t.id > :id)) ORDER BY t.changeVersion ASC, t.id ASC")
+    List<TodoChangeRow> findChangedPageByUserId(@Param("userId") Long userId, @Param("version") long version, @Param("id") Long id, Pageable pageable);
+    
+    // Set-based bulk operations; callers hold the user's counter row lock, so the matched set cannot change
+    // between statements of the same operation
+    @Modifying
+    @Query("UPDATE Todo t SET t.completed = true, t.updatedAt = :now, t.changeVersion = :version " +
+           "WHERE t.user.id = :userId AND t.completed = false AND t.deadline < :now")
+    int completeOverdueByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now, @Param("version") long version);
+    
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.id IN :ids AND t.user.id = :userId")
+    int deleteByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+    
+    @Query("SELECT COUNT(t) FROM Todo t WHERE t.user.id = :userId AND t.completed = true AND t.deadline IS NOT NULL")
+    long countCompletedWithDeadlineByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.user.id = :userId AND t.completed = true")
+    int deleteCompletedByUserId(@Param("userId") Long userId);
+    
+    // Statistics query - time-dependent stats fields in one conditional aggregation over todos with deadlines
+    @Query("SELECT SUM(CASE WHEN t.completed = false AND t.deadline < :now THEN 1 ELSE 0 END) AS overdueTodos, " +
+           "SUM(CASE WHEN t.completed = false AND t.deadline > :now AND t.deadline < :dueSoon THEN 1 ELSE 0 END) AS dueSoonTodos, " +
+           "MIN(CASE WHEN t.completed = false AND t.deadline >= :now THEN t.deadline END) AS nextDeadline, " +
+           "SUM(CASE WHEN t.deadline >= :weekStart AND t.deadline < :weekEnd THEN 1 ELSE 0 END) AS todosThisWeek, " +
+           "SUM(CASE WHEN t.deadline >= :monthStart AND t.deadline < :monthEnd THEN 1 ELSE 0 END) AS todosThisMonth " +
+           "FROM Todo t WHERE t.user.id = :userId AND t.deadline IS NOT NULL")
+    TodoStatsView aggregateDeadlineStatsByUserId(@Param("userId") Long userId,
+                                                 @Param("now") LocalDateTime now,
+                                                 @Param("dueSoon") LocalDateTime dueSoon,
+                                                 @Param("weekStart") LocalDateTime weekStart,
+                                                 @Param("weekEnd") LocalDateTime weekEnd,
+                                                 @Param("monthStart") LocalDateTime monthStart,
+                                                 @Param("monthEnd") LocalDateTime monthEnd);
     
-    List<Todo> findByUserIdAndDeadlineIsNotNullOrderByDeadlineAsc(Long userId);
-    List<Todo> findByUserIdAndDeadlineIsNullOrderByCreatedAtDesc(Long userId);
+    // Calendar query - per-day counts over (user_id, deadline), grouped on the deadline truncated to its date
+    @Query("SELECT CAST(t.deadline AS LocalDate) AS bucket, " +
+           "SUM(CASE WHEN t.completed = false THEN 1 ELSE 0 END) AS openTodos, " +
+           "SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END) AS completedTodos, " +
+           "SUM(CASE WHEN t.completed = false AND t.deadline < :now THEN 1 ELSE 0 END) AS overdueTodos " +
+           "FROM Todo t WHERE t.user.id = :userId AND t.deadline >= :from AND t.deadline < :to " +
+           "GROUP BY CAST(t.deadline AS LocalDate) ORDER BY CAST(t.deadline AS LocalDate)")
+    List<TodoCalendarView> countByDeadlineDate(@Param("userId") Long userId,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               @Param("now") LocalDateTime now);
     
-    // Overdue and due soon queries
-    @Query("SELECT t FROM Todo t WHERE t.user.id = :userId AND t.deadline < :now AND t.completed = false ORDER BY t.deadline ASC")
-    List<Todo> findOverdueTodosByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    // Counter rebuild query - absolute counts per user for user_todo_counters reconciliation
+    @Query("SELECT t.user.id AS userId, COUNT(t) AS totalTodos, " +
+           "SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END) AS completedTodos, " +
+           "SUM(CASE WHEN t.deadline IS NOT NULL THEN 1 ELSE 0 END) AS todosWithDeadline, " +
+           "SUM(CASE WHEN t.completed = true AND t.deadline IS NOT NULL THEN 1 ELSE 0 END) AS completedWithDeadline " +
+           "FROM Todo t WHERE t.user.id IN :userIds GROUP BY t.user.id")
+    List<TodoCountsView> countTodosByUserIds(@Param("userIds") Collection<Long> userIds);
     
-    @Query("SELECT t FROM Todo t WHERE t.user.id = :userId AND t.deadline BETWEEN :now AND :dueSoon AND t.completed = false ORDER BY t.deadline ASC")
-    List<Todo> findDueSoonTodosByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now, @Param("dueSoon") LocalDateTime dueSoon);
+    // Deadline index source - served by idx_todos_user_deadline in (deadline, id) order
+    @Query("SELECT t.id AS id, t.deadline AS deadline, t.completed AS completed FROM Todo t " +
+           "WHERE t.user.id = :userId AND t.deadline IS NOT NULL ORDER BY t.deadline ASC, t.id ASC")
+    List<TodoDeadlineView> findDeadlineViewsByUserId(@Param("userId") Long userId);
     
-    // Deadline range queries
-    @Query("SELECT t FROM Todo t WHERE t.user.id = :userId AND t.deadline BETWEEN :startDate AND :endDate ORDER BY t.deadline ASC")
-    List<Todo> findTodosByUserIdAndDeadlineBetween(@Param("userId") Long userId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    // Deadline reminder refill - open todos of all users by (deadline, id) keyset over idx_todos_open_deadline
+    // (PostgreSQL) or idx_todos_deadline
+    @Query("SELECT t.id AS id, t.user.id AS userId, t.title AS title, t.deadline AS deadline, t.completed AS completed FROM Todo t " +
+           "WHERE t.completed = false AND t.deadline >= :from AND t.deadline < :to " +
+           "AND (t.deadline > :deadline OR (t.deadline = :deadline AND t.id > :id)) ORDER BY t.deadline ASC, t.id ASC")
+    List<TodoReminderView> findOpenReminderPage(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                @Param("deadline") LocalDateTime deadline, @Param("id") Long id, Pageable pageable);
     
-    // Statistics queries
-    @Query("SELECT COUNT(t) FROM Todo t WHERE t.user.id = :userId AND t.deadline < :now AND t.completed = false")
-    long countOverdueTodosByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    @Query("SELECT t.id AS id, t.user.id AS userId, t.title AS title, t.deadline AS deadline, t.completed AS completed FROM Todo t " +
+           "WHERE t.user.id = :userId AND t.completed = false AND t.deadline >= :from AND t.deadline < :to")
+    List<TodoReminderView> findOpenReminderViewsByUserId(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
     
-    @Query("SELECT COUNT(t) FROM Todo t WHERE t.user.id = :userId AND t.deadline IS NOT NULL")
-    long countTodosWithDeadlineByUserId(@Param("userId") Long userId);
+    @Query("SELECT t.id AS id, t.user.id AS userId, t.title AS title, t.deadline AS deadline, t.completed AS completed FROM Todo t WHERE t.id IN :ids")
+    List<TodoReminderView> findReminderViewsByIdIn(@Param("ids") Collection<Long> ids);
     
-    // Search queries
-    @Query("SELECT t FROM Todo t WHERE t.user.id = :userId AND (LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    List<Todo> searchTodosByUserIdAndKeyword(@Param("userId") Long userId, @Param("keyword") String keyword);
+    // Search index source - only the columns the in-memory trigram index needs
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, t.createdAt AS createdAt FROM Todo t WHERE t.user.id = :userId")
+    List<TodoSearchDocumentView> findSearchDocumentsByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,13 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.Todo;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TodoRepositoryCustom {
+
+    // Specification query projected straight into TodoRow instead of managed entities
+    List<TodoRow> findRows(Specification<Todo> spec, Sort sort, int limit);
+}
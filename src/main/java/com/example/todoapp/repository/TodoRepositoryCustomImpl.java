@@ -0,0 +1,41 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.Todo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class TodoRepositoryCustomImpl implements TodoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TodoRow> findRows(Specification<Todo> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoRow> query = cb.createQuery(TodoRow.class);
+        Root<Todo> root = query.from(Todo.class);
+        
+        query.select(cb.construct(TodoRow.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("completed"),
+                root.get("deadline"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Read-only todo row built by JPQL constructor expressions, never managed by the persistence context
+@Getter
+@AllArgsConstructor
+public class TodoRow {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Boolean completed;
+    private final LocalDateTime deadline;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public static TodoRow from(Todo todo) {
+        return new TodoRow(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getCompleted(),
+                todo.getDeadline(), todo.getCreatedAt(), todo.getUpdatedAt());
+    }
+
+    public TodoRow withId(Long newId) {
+        return new TodoRow(newId, title, description, completed, deadline, createdAt, updatedAt);
+    }
+
+    public TodoRow withCompleted(Boolean newCompleted, LocalDateTime newUpdatedAt) {
+        return new TodoRow(id, title, description, newCompleted, deadline, createdAt, newUpdatedAt);
+    }
+
+    public TodoRow withDeadline(LocalDateTime newDeadline, LocalDateTime newUpdatedAt) {
+        return new TodoRow(id, title, description, completed, newDeadline, createdAt, newUpdatedAt);
+    }
+
+    public boolean hasDeadline() {
+        return deadline != null;
+    }
+}
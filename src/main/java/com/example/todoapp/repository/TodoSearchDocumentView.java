@@ -0,0 +1,11 @@
+package com.example.todoapp.repository;
+
+import java.time.LocalDateTime;
+
+// Projection with just the columns the in-memory search index needs
+public interface TodoSearchDocumentView {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,68 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.Todo;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+// Building blocks for dynamic todo queries, each translating to an indexable SQL predicate
+public final class TodoSpecifications {
+
+    private TodoSpecifications() {
+    }
+
+    public static Specification<Todo> belongsTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Todo> completed(boolean completed) {
+        return (root, query, cb) -> cb.equal(root.get("completed"), completed);
+    }
+
+    public static Specification<Todo> hasDeadline(boolean hasDeadline) {
+        return (root, query, cb) -> hasDeadline
+                ? cb.isNotNull(root.get("deadline"))
+                : cb.isNull(root.get("deadline"));
+    }
+
+    public static Specification<Todo> deadlineFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("deadline"), from);
+    }
+
+    public static Specification<Todo> deadlineTo(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("deadline"), to);
+    }
+
+    public static Specification<Todo> overdue(LocalDateTime now) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("completed"), false),
+                cb.lessThan(root.get("deadline"), now));
+    }
+
+    public static Specification<Todo> dueSoon(LocalDateTime now, LocalDateTime dueSoon) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("completed"), false),
+                cb.greaterThan(root.get("deadline"), now),
+                cb.lessThan(root.get("deadline"), dueSoon));
+    }
+
+    // Keyset seek: rows strictly after (key, id) in the given direction
+    public static <Y extends Comparable<? super Y>> Specification<Todo> after(
+            String attribute, Y key, Long id, boolean ascending) {
+        return (root, query, cb) -> {
+            Path<Y> column = root.get(attribute);
+            Path<Long> idColumn = root.get("id");
+            Predicate pastKey = ascending ? cb.greaterThan(column, key) : cb.lessThan(column, key);
+            Predicate pastId = ascending ? cb.greaterThan(idColumn, id) : cb.lessThan(idColumn, id);
+            return cb.or(pastKey, cb.and(cb.equal(column, key), pastId));
+        };
+    }
+
+    public static Specification<Todo> afterId(Long id, boolean ascending) {
+        return (root, query, cb) -> ascending
+                ? cb.greaterThan(root.get("id"), id)
+                : cb.lessThan(root.get("id"), id);
+    }
+}
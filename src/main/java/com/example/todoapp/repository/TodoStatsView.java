@@ -0,0 +1,12 @@
+package com.example.todoapp.repository;
+
+import java.time.LocalDateTime;
+
+// Projection for the time-dependent part of /api/todos/stats; the rest comes from user_todo_counters
+public interface TodoStatsView {
+    Long getOverdueTodos();
+    Long getDueSoonTodos();
+    LocalDateTime getNextDeadline();
+    Long getTodosThisWeek();
+    Long getTodosThisMonth();
+}
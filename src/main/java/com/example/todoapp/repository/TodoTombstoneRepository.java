@@ -0,0 +1,44 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.TodoTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+
+    // Must run before the todos are deleted; only rows that exist and belong to the user get a tombstone
+    @Modifying
+    @Query("INSERT INTO TodoTombstone (todoId, userId, changeVersion, deletedAt) " +
+           "SELECT t.id, t.user.id, :version, :now FROM Todo t WHERE t.id IN :ids AND t.user.id = :userId")
+    int insertForTodos(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                       @Param("version") long version, @Param("now") LocalDateTime now);
+
+    // Same predicate as TodoRepository.deleteCompletedByUserId; run first, under the counter row lock
+    @Modifying
+    @Query("INSERT INTO TodoTombstone (todoId, userId, changeVersion, deletedAt) " +
+           "SELECT t.id, t.user.id, :version, :now FROM Todo t WHERE t.user.id = :userId AND t.completed = true")
+    int insertForCompletedTodos(@Param("userId") Long userId, @Param("version") long version, @Param("now") LocalDateTime now);
+
+    // Delta sync keyset: tombstones after (version, todo id), in the same order as the changed todos
+    @Query("SELECT t FROM TodoTombstone t WHERE t.userId = :userId " +
+           "AND (t.changeVersion > :version OR (t.changeVersion = :version AND t.todoId > :id)) " +
+           "ORDER BY t.changeVersion ASC, t.todoId ASC")
+    List<TodoTombstone> findPageByUserId(@Param("userId") Long userId, @Param("version") long version,
+                                         @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT t FROM TodoTombstone t WHERE t.deletedAt < :cutoff")
+    List<TodoTombstone> findExpired(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM TodoTombstone t WHERE t.todoId IN :ids")
+    int deleteByTodoIdIn(@Param("ids") Collection<Long> ids);
+}
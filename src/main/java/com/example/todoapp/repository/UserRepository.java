@@ -1,9 +1,14 @@
 package com.example.todoapp.repository;
 
 import com.example.todoapp.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,4 +25,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     
     boolean existsByFirstNameAndLastName(String firstName, String lastName);
+    
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Primary-key lookup without the EAGER roles join
+    @Query("SELECT u.enabled AS enabled, u.emailVerified AS emailVerified, u.securityVersion AS securityVersion FROM User u WHERE u.id = :id")
+    Optional<UserSecurityView> findSecurityViewById(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.securityVersion = u.securityVersion + 1 WHERE u.id = :id")
+    int incrementSecurityVersion(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.enabled = :enabled WHERE u.id = :id")
+    int updateEnabled(@Param("id") Long id, @Param("enabled") boolean enabled);
 }
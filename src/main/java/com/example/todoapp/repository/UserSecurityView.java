@@ -0,0 +1,8 @@
+package com.example.todoapp.repository;
+
+// Projection with just what the per-request token check needs, see UserSecurityService
+public interface UserSecurityView {
+    Boolean getEnabled();
+    Boolean getEmailVerified();
+    Long getSecurityVersion();
+}
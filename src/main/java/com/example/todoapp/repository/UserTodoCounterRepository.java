@@ -0,0 +1,76 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.UserTodoCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserTodoCounterRepository extends JpaRepository<UserTodoCounter, Long> {
+
+    // The user's counts straight from todos; includes uncommitted changes of the calling transaction
+    String COUNTS_SELECT =
+            "SELECT CAST(:userId AS BIGINT) AS user_id, COUNT(*) AS total_todos, " +
+            "COALESCE(SUM(CASE WHEN completed = TRUE THEN 1 ELSE 0 END), 0) AS completed_todos, " +
+            "COALESCE(SUM(CASE WHEN deadline IS NOT NULL THEN 1 ELSE 0 END), 0) AS todos_with_deadline, " +
+            "COALESCE(SUM(CASE WHEN completed = TRUE AND deadline IS NOT NULL THEN 1 ELSE 0 END), 0) AS completed_with_deadline " +
+            "FROM todos WHERE user_id = :userId";
+
+    // Insert-if-absent: a concurrent first write waits for the winner's row instead of failing on the primary key.
+    // Both return 1 when this call created the row, 0 when it already existed.
+    @Modifying
+    @Query(value = "INSERT INTO user_todo_counters " +
+                   "(user_id, total_todos, completed_todos, todos_with_deadline, completed_with_deadline, updated_at) " +
+                   "SELECT c.*, CURRENT_TIMESTAMP FROM (" + COUNTS_SELECT + ") c " +
+                   "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsentPostgres(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "MERGE INTO user_todo_counters t USING (" + COUNTS_SELECT + ") c ON t.user_id = c.user_id " +
+                   "WHEN NOT MATCHED THEN INSERT " +
+                   "(user_id, total_todos, completed_todos, todos_with_deadline, completed_with_deadline, updated_at) " +
+                   "VALUES (c.user_id, c.total_todos, c.completed_todos, c.todos_with_deadline, c.completed_with_deadline, " +
+                   "CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insertIfAbsentH2(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE UserTodoCounter c SET c.totalTodos = c.totalTodos + :total, " +
+           "c.completedTodos = c.completedTodos + :completed, " +
+           "c.todosWithDeadline = c.todosWithDeadline + :withDeadline, " +
+           "c.completedWithDeadline = c.completedWithDeadline + :completedWithDeadline, " +
+           "c.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE c.userId = :userId")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("total") long total,
+                   @Param("completed") long completed,
+                   @Param("withDeadline") long withDeadline,
+                   @Param("completedWithDeadline") long completedWithDeadline);
+
+    // Holds the counter row lock until commit, so one user's writes commit in version order
+    @Modifying
+    @Query("UPDATE UserTodoCounter c SET c.changeVersion = c.changeVersion + 1 WHERE c.userId = :userId")
+    int incrementChangeVersion(@Param("userId") Long userId);
+
+    @Query("SELECT c.changeVersion FROM UserTodoCounter c WHERE c.userId = :userId")
+    Long findChangeVersion(@Param("userId") Long userId);
+
+    @Query("SELECT c.tombstonesPurgedVersion FROM UserTodoCounter c WHERE c.userId = :userId")
+    Long findTombstonesPurgedVersion(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE UserTodoCounter c SET c.tombstonesPurgedVersion = :version " +
+           "WHERE c.userId = :userId AND c.tombstonesPurgedVersion < :version")
+    int raiseTombstonesPurgedVersion(@Param("userId") Long userId, @Param("version") long version);
+
+    // Row locks make concurrent delta updates wait until a reconciliation batch commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM UserTodoCounter c WHERE c.userId IN :userIds")
+    List<UserTodoCounter> findAllForUpdate(@Param("userIds") Collection<Long> userIds);
+}
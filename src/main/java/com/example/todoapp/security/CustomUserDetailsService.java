@@ -1,24 +1,73 @@
 package com.example.todoapp.security;
 
+import com.example.todoapp.dto.common.CacheStatsDto;
 import com.example.todoapp.entity.User;
+import com.example.todoapp.event.UserSecurityChangedEvent;
 import com.example.todoapp.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    @Value("${app.auth.user-cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${app.auth.user-cache.expire-after-write-seconds:300}")
+    private long expireAfterWriteSeconds;
+
+    // One principal under both its username and its email (usernames cannot contain '@', so keys never clash).
+    // Principals are shared between requests and must be treated as read-only.
+    private Cache<String, UserPrincipal> principals;
+
+    @PostConstruct
+    void buildCache() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
+        UserPrincipal principal = principals.get(usernameOrEmail, this::load);
+        // Register the other key too, so a login by email warms requests that authenticate by username
+        User user = principal.getUser();
+        String otherKey = usernameOrEmail.equals(user.getUsername()) ? user.getEmail() : user.getUsername();
+        principals.asMap().putIfAbsent(otherKey, principal);
+        return principal;
+    }
+
+    public CacheStatsDto getStats() {
+        return CacheStatsDto.of("userDetails", principals);
+    }
+
+    // Runs after commit; entries are dropped by user id since the event does not say which keys were used
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        principals.asMap().values().removeIf(principal -> event.getUserId().equals(principal.getId()));
+    }
+
+    private UserPrincipal load(String usernameOrEmail) {
         User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail));
-        
+        log.debug("Loaded user details for: {}", user.getUsername());
         return new UserPrincipal(user);
     }
 }
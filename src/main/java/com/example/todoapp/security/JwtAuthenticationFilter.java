@@ -1,13 +1,16 @@
 package com.example.todoapp.security;
 
-import com.example.todoapp.service.JwtService;
+import com.example.todoapp.service.TokenVerificationService;
+import com.example.todoapp.service.UserSecurityService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,14 +19,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final TokenVerificationService tokenVerificationService;
     private final UserDetailsService userDetailsService;
+    private final UserSecurityService userSecurityService;
+
+    // Authenticate from token claims instead of loading the user on every request
+    @Value("${app.auth.stateless:true}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(
@@ -54,22 +63,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         log.debug("Processing JWT token for request: {}", request.getRequestURI());
         
         try {
-            final String username = jwtService.extractUsername(jwt);
+            // Verified once per token; repeat requests with the same token are served from the cache
+            final ParsedToken token = tokenVerificationService.verify(jwt);
+            final String username = token.getSubject();
             
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("Authentication set for user: {}", username);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (stateless && token.getUserId() != null) {
+                    authenticateFromClaims(token, request);
                 } else {
-                    log.debug("JWT token is invalid for user: {}", username);
+                    authenticateFromUserDetails(username, request);
                 }
             }
         } catch (Exception e) {
@@ -79,4 +81,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+
+    // No database access: the principal comes from the claims, and the cached security state catches
+    // disabled accounts and tokens issued before a rights change
+    private void authenticateFromClaims(ParsedToken token, HttpServletRequest request) {
+        if (!userSecurityService.isTokenCurrent(token.getUserId(), token.getSecurityVersion())) {
+            log.debug("JWT token is no longer current for user: {}", token.getSubject());
+            return;
+        }
+        TokenPrincipal principal = new TokenPrincipal(token);
+        setAuthentication(principal, principal.getAuthorities(), request);
+        log.debug("Authentication set from token claims for user: {}", token.getSubject());
+    }
+
+    private void authenticateFromUserDetails(String username, HttpServletRequest request) {
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        
+        if (username.equals(userDetails.getUsername())) {
+            setAuthentication(userDetails, userDetails.getAuthorities(), request);
+            log.debug("Authentication set for user: {}", username);
+        } else {
+            log.debug("JWT token is invalid for user: {}", username);
+        }
+    }
+
+    private void setAuthentication(Object principal, Collection<? extends GrantedAuthority> authorities,
+                                   HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+            principal,
+            null,
+            authorities
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
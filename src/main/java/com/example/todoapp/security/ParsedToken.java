@@ -0,0 +1,30 @@
+package com.example.todoapp.security;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+// Claims of a JWT whose signature and expiry were verified once by JwtService.parseToken
+@Getter
+public final class ParsedToken {
+
+    private final String subject;
+    private final Long userId;
+    private final List<String> roles;
+    // Tokens issued before security versions existed carry none and read as 0
+    private final long securityVersion;
+    private final Instant expiresAt;
+
+    public ParsedToken(String subject, Long userId, List<String> roles, long securityVersion, Instant expiresAt) {
+        this.subject = subject;
+        this.userId = userId;
+        this.roles = List.copyOf(roles);
+        this.securityVersion = securityVersion;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpiredAt(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
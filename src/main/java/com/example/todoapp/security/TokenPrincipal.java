@@ -0,0 +1,29 @@
+package com.example.todoapp.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+// Principal built straight from verified token claims, without loading the user
+@Getter
+public class TokenPrincipal {
+
+    private final Long id;
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+
+    public TokenPrincipal(ParsedToken token) {
+        this.id = token.getUserId();
+        this.username = token.getSubject();
+        this.authorities = token.getRoles().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
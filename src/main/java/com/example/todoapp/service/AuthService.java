@@ -2,6 +2,7 @@ package com.example.todoapp.service;
 
 import com.example.todoapp.dto.auth.AuthResponseDto;
 import com.example.todoapp.dto.auth.LoginRequestDto;
+import com.example.todoapp.dto.auth.RefreshTokenRequestDto;
 import com.example.todoapp.dto.auth.RegisterRequestDto;
 import com.example.todoapp.dto.auth.UserProfileDto;
 
@@ -11,7 +12,14 @@ public interface AuthService {
     
     AuthResponseDto login(LoginRequestDto request);
     
+    // Trades a refresh token for a new access token and its rotated successor
+    AuthResponseDto refresh(RefreshTokenRequestDto request);
+    
     UserProfileDto getCurrentUser();
     
-    void logout();
+    // Revokes the bearer access token of the Authorization header and the refresh token's session, when given
+    void logout(String authorizationHeader, String refreshToken);
+    
+    // Ends every session of the current user, on all devices
+    void logoutAll();
 }
@@ -0,0 +1,18 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.backup.BackupRestoreResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface BackupService {
+
+    void checkUserExists(Long userId);
+
+    // Writes a gzip-compressed NDJSON archive; a null userId exports the whole database
+    void export(Long userId, OutputStream out) throws IOException;
+
+    // Loads an archive in one transaction; users whose username or email is taken are skipped with their todos
+    BackupRestoreResultDto restore(InputStream in) throws IOException;
+}
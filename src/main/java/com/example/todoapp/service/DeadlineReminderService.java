@@ -0,0 +1,7 @@
+package com.example.todoapp.service;
+
+public interface DeadlineReminderService {
+
+    // Reminders currently held in the timing wheel, including cancelled ones not yet flushed
+    int getScheduledCount();
+}
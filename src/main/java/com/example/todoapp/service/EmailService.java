@@ -1,5 +1,7 @@
 package com.example.todoapp.service;
 
+import java.time.LocalDateTime;
+
 public interface EmailService {
 
     void sendVerificationEmail(String to, String firstName, String verificationCode);
@@ -7,4 +9,6 @@ public interface EmailService {
     void sendPasswordResetEmail(String to, String firstName, String resetCode);
 
     void sendWelcomeEmail(String to, String firstName);
+
+    void sendDeadlineReminderEmail(String to, String firstName, String todoTitle, LocalDateTime deadline, boolean overdue);
 }
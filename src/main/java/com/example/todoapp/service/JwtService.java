@@ -1,17 +1,15 @@
 package com.example.todoapp.service;
 
 import com.example.todoapp.entity.User;
-import org.springframework.security.core.userdetails.UserDetails;
+import com.example.todoapp.security.ParsedToken;
 
 public interface JwtService {
 
     String generateAccessToken(User user);
     
-    String generateRefreshToken(User user);
+    // Same, with the sv claim taken from freshly read state instead of a possibly cached User
+    String generateAccessToken(User user, long securityVersion);
     
-    String extractUsername(String token);
-    
-    boolean isTokenValid(String token, UserDetails userDetails);
-    
-    boolean isTokenExpired(String token);
+    // Verifies signature and expiry in one parse; throws io.jsonwebtoken.JwtException when either fails
+    ParsedToken parseToken(String token);
 }
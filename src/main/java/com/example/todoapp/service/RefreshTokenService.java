@@ -0,0 +1,23 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.entity.RefreshToken;
+
+public interface RefreshTokenService {
+
+    // Starts a new login session and returns the raw token; only its hash is stored
+    String issue(Long userId);
+
+    // One-time use: marks the token used and returns its record. Presenting a used token revokes its whole
+    // session and throws InvalidTokenException; callers must not roll that revocation back.
+    RefreshToken consume(String token);
+
+    // Next token of the consumed token's session
+    String issueRotated(RefreshToken consumed);
+
+    // Ends the session of the token, if it is known
+    void revoke(String token);
+
+    void revokeAll(Long userId);
+
+    int purgeExpiredTokens();
+}
@@ -0,0 +1,17 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.common.CacheStatsDto;
+import com.example.todoapp.repository.TodoRow;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TodoCacheService {
+
+    // All of the user's rows, newest first, or empty when the account is too large to cache
+    Optional<List<TodoRow>> getRows(Long userId);
+
+    void invalidate(Long userId);
+
+    CacheStatsDto getStats();
+}
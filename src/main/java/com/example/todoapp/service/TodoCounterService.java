@@ -0,0 +1,28 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.entity.UserTodoCounter;
+
+public interface TodoCounterService {
+
+    void recordCreated(Long userId, boolean completed, boolean hasDeadline);
+
+    void recordChanged(Long userId, boolean wasCompleted, boolean hadDeadline, boolean completed, boolean hasDeadline);
+
+    void recordDeleted(Long userId, boolean completed, boolean hasDeadline);
+
+    // Net change of a multi-row operation, applied as one UPDATE
+    void recordDelta(Long userId, long total, long completed, long withDeadline, long completedWithDeadline);
+
+    // Allocates the user's next change version; call before the write so the row lock covers it
+    long nextChangeVersion(Long userId);
+
+    UserTodoCounter getCounters(Long userId);
+
+    // Version of the user's last committed todo write; 0 before the first one
+    long getChangeVersion(Long userId);
+
+    // Read straight from the database, bypassing counters already loaded in the transaction
+    long getTombstonesPurgedVersion(Long userId);
+
+    void reconcileAllCounters();
+}
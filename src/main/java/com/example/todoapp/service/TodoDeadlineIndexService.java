@@ -0,0 +1,19 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.common.CacheStatsDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TodoDeadlineIndexService {
+
+    // Candidate ids with from <= deadline <= to in deadline order, widened to whole seconds at both ends;
+    // empty when the user has too many deadlines to index
+    Optional<List<Long>> findCandidateIds(Long userId, LocalDateTime from, LocalDateTime to, int limit);
+
+    // Same as findCandidateIds, restricted to todos that are not completed
+    Optional<List<Long>> findOpenCandidateIds(Long userId, LocalDateTime from, LocalDateTime to, int limit);
+
+    CacheStatsDto getStats();
+}
@@ -0,0 +1,11 @@
+package com.example.todoapp.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface TodoEventStreamService {
+
+    // Opens an SSE stream of the current user's todo changes and deadline reminders
+    SseEmitter subscribeCurrentUser();
+
+    int getConnectionCount();
+}
@@ -0,0 +1,17 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoImportEventDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface TodoImportService {
+
+    enum Format {
+        NDJSON, CSV
+    }
+
+    // Rows are committed batch by batch; a failure part-way keeps the batches already reported as imported
+    void importCurrentUserTodos(InputStream body, Format format, Consumer<TodoImportEventDto> report) throws IOException;
+}
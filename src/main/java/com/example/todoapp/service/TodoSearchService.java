@@ -0,0 +1,11 @@
+package com.example.todoapp.service;
+
+import java.util.List;
+
+public interface TodoSearchService {
+
+    // Ids of the user's todos matching the keyword, best matches first
+    List<Long> search(Long userId, String keyword);
+
+    void evictUser(Long userId);
+}
@@ -1,17 +1,24 @@
 package com.example.todoapp.service;
 
+import com.example.todoapp.dto.TodoBatchRequestDto;
+import com.example.todoapp.dto.TodoBatchResultDto;
+import com.example.todoapp.dto.TodoBulkResultDto;
+import com.example.todoapp.dto.TodoCalendarDto;
+import com.example.todoapp.dto.TodoChangesDto;
 import com.example.todoapp.dto.TodoRequestDto;
 import com.example.todoapp.dto.TodoResponseDto;
 import com.example.todoapp.dto.TodoDeadlineStatsDto;
 import com.example.todoapp.dto.TodoFilterDto;
+import com.example.todoapp.dto.TodoPageDto;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TodoService {
 
     // Basic CRUD operations for current user
-    List<TodoResponseDto> getCurrentUserTodos();
+    TodoPageDto getCurrentUserTodos(String after, int limit);
     TodoResponseDto getCurrentUserTodoById(Long todoId);
     TodoResponseDto createTodoForCurrentUser(TodoRequestDto todoRequest);
     TodoResponseDto updateCurrentUserTodo(Long todoId, TodoRequestDto todoRequest);
@@ -19,21 +26,30 @@ public interface TodoService {
     TodoResponseDto toggleCurrentUserTodoCompletion(Long todoId);
     
     // Deadline-specific operations
-    List<TodoResponseDto> getCurrentUserTodosSortedByDeadline();
-    List<TodoResponseDto> getCurrentUserTodosWithDeadlines();
-    List<TodoResponseDto> getCurrentUserTodosWithoutDeadlines();
-    List<TodoResponseDto> getCurrentUserOverdueTodos();
-    List<TodoResponseDto> getCurrentUserDueSoonTodos();
-    List<TodoResponseDto> getCurrentUserTodosByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    TodoPageDto getCurrentUserTodosSortedByDeadline(String after, int limit);
+    TodoPageDto getCurrentUserTodosWithDeadlines(String after, int limit);
+    TodoPageDto getCurrentUserTodosWithoutDeadlines(String after, int limit);
+    TodoPageDto getCurrentUserOverdueTodos(String after, int limit);
+    TodoPageDto getCurrentUserDueSoonTodos(String after, int limit);
+    TodoPageDto getCurrentUserTodosByDateRange(LocalDateTime startDate, LocalDateTime endDate, String after, int limit);
     
     // Deadline management
     TodoResponseDto setTodoDeadline(Long todoId, LocalDateTime deadline);
     TodoResponseDto removeTodoDeadline(Long todoId);
     
+    // Bulk operations
+    TodoBatchResultDto batchCurrentUserTodos(TodoBatchRequestDto batch);
+    TodoBulkResultDto completeCurrentUserOverdueTodos();
+    TodoBulkResultDto deleteCurrentUserCompletedTodos();
+    
     // Statistics and analytics
     TodoDeadlineStatsDto getCurrentUserTodoStats();
+    TodoCalendarDto getCurrentUserTodoCalendar(LocalDate from, LocalDate to, TodoCalendarDto.Granularity granularity);
+    
+    // Delta sync: todos written and deleted after a version; without "since", every todo
+    TodoChangesDto getCurrentUserTodoChanges(Long since, String after, int limit);
     
     // Search and filter
-    List<TodoResponseDto> searchCurrentUserTodos(String keyword);
-    List<TodoResponseDto> filterCurrentUserTodos(TodoFilterDto filter);
+    TodoPageDto searchCurrentUserTodos(String keyword, String after, int limit);
+    TodoPageDto filterCurrentUserTodos(TodoFilterDto filter, String after, int limit);
 }
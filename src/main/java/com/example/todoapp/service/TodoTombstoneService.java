@@ -0,0 +1,7 @@
+package com.example.todoapp.service;
+
+public interface TodoTombstoneService {
+
+    // Deletes tombstones past the retention period; returns how many were removed
+    int purgeExpiredTombstones();
+}
@@ -0,0 +1,9 @@
+package com.example.todoapp.service;
+
+public interface TodoVersionService {
+
+    long getVersion(Long userId);
+
+    // Strong ETag for the current user's todo collections at this version and time bucket
+    String getCurrentUserETag();
+}
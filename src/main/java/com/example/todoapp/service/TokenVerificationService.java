@@ -0,0 +1,17 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.common.CacheStatsDto;
+import com.example.todoapp.security.ParsedToken;
+
+public interface TokenVerificationService {
+
+    // Verified claims of the token, from cache when it was seen before; throws io.jsonwebtoken.JwtException
+    // when the token is invalid, expired or revoked
+    ParsedToken verify(String token);
+
+    // Rejects the token on every instance until it expires (others within the revocation poll interval);
+    // invalid tokens are ignored
+    void revoke(String token);
+
+    CacheStatsDto getStats();
+}
@@ -0,0 +1,17 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.common.CacheStatsDto;
+
+public interface UserSecurityService {
+
+    // True while the account is enabled and the token was issued at its current security version
+    boolean isTokenCurrent(Long userId, long securityVersion);
+
+    // Invalidates every access and refresh token issued to the user so far
+    void revokeAllTokens(Long userId);
+
+    // Either way every token issued before the change stops working, so re-enabling cannot revive old sessions
+    void setAccountEnabled(Long userId, boolean enabled);
+
+    CacheStatsDto getStats();
+}
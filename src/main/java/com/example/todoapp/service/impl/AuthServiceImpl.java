@@ -2,24 +2,37 @@ package com.example.todoapp.service.impl;
 
 import com.example.todoapp.dto.auth.AuthResponseDto;
 import com.example.todoapp.dto.auth.LoginRequestDto;
+import com.example.todoapp.dto.auth.RefreshTokenRequestDto;
 import com.example.todoapp.dto.auth.RegisterRequestDto;
 import com.example.todoapp.dto.auth.UserProfileDto;
 import com.example.todoapp.entity.Role;
+import com.example.todoapp.entity.RefreshToken;
 import com.example.todoapp.entity.User;
+import com.example.todoapp.event.UserSecurityChangedEvent;
+import com.example.todoapp.exception.AuthorizationException;
+import com.example.todoapp.exception.InvalidTokenException;
+import com.example.todoapp.exception.ResourceNotFoundException;
 import com.example.todoapp.repository.RoleRepository;
 import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.repository.UserSecurityView;
 import com.example.todoapp.security.UserPrincipal;
 import com.example.todoapp.service.AuthService;
 import com.example.todoapp.service.EmailVerificationService;
 import com.example.todoapp.service.JwtService;
+import com.example.todoapp.service.RefreshTokenService;
+import com.example.todoapp.service.TokenVerificationService;
+import com.example.todoapp.service.UserSecurityService;
+import com.example.todoapp.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -34,6 +47,10 @@ public class AuthServiceImpl implements AuthService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final TokenVerificationService tokenVerificationService;
+    private final RefreshTokenService refreshTokenService;
+    private final UserSecurityService userSecurityService;
+    private final ApplicationEventPublisher eventPublisher;
     private final AuthenticationManager authenticationManager;
     private final EmailVerificationService emailVerificationService;
 
@@ -78,6 +95,8 @@ public class AuthServiceImpl implements AuthService {
 
             User savedUser = userRepository.save(user);
             log.info("User saved successfully with ID: {}", savedUser.getId());
+            // Drops any cached principal under the new username or email
+            eventPublisher.publishEvent(new UserSecurityChangedEvent(savedUser.getId()));
 
             // Send verification email
             log.info("Sending verification email to: {}", savedUser.getEmail());
@@ -125,28 +144,55 @@ public class AuthServiceImpl implements AuthService {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         User user = userPrincipal.getUser();
 
+        // The principal may come from the user-details cache, so account state and the security version are
+        // read fresh: a disable or logout-all on another instance must not be minted into new tokens
+        UserSecurityView security = userRepository.findSecurityViewById(user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + user.getId()));
+
         // Check if email is verified
-        if (!user.getEmailVerified()) {
+        if (!Boolean.TRUE.equals(security.getEmailVerified())) {
             throw new RuntimeException("Please verify your email before logging in");
         }
 
         // Check if user is enabled
-        if (!user.getEnabled()) {
+        if (!Boolean.TRUE.equals(security.getEnabled())) {
             throw new RuntimeException("Account is disabled. Please contact support.");
         }
 
         // Generate tokens
+        String accessToken = jwtService.generateAccessToken(user, security.getSecurityVersion());
+        String refreshToken = refreshTokenService.issue(user.getId());
+
+        return createAuthResponse(user, accessToken, refreshToken);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public AuthResponseDto refresh(RefreshTokenRequestDto request) {
+        // A hash lookup and two small writes instead of a BCrypt check
+        RefreshToken consumed = refreshTokenService.consume(request.getRefreshToken());
+        User user = userRepository.findById(consumed.getUserId())
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+        if (!user.getEnabled()) {
+            throw new InvalidTokenException("Account is disabled. Please contact support.");
+        }
+
         String accessToken = jwtService.generateAccessToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
+        String refreshToken = refreshTokenService.issueRotated(consumed);
+        log.debug("Refreshed tokens for user: {}", user.getUsername());
 
         return createAuthResponse(user, accessToken, refreshToken);
     }
 
     @Override
     public UserProfileDto getCurrentUser() {
-        UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
-                .getAuthentication().getPrincipal();
-        User user = userPrincipal.getUser();
+        // Stateless requests carry no loaded user, so the profile is read by id
+        Long userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            throw new AuthorizationException("User not authenticated");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         return UserProfileDto.builder()
                 .id(user.getId())
@@ -162,7 +208,23 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    public void logout() {
+    public void logout(String authorizationHeader, String refreshToken) {
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            tokenVerificationService.revoke(authorizationHeader.substring(7));
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @Override
+    public void logoutAll() {
+        Long userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            throw new AuthorizationException("User not authenticated");
+        }
+        userSecurityService.revokeAllTokens(userId);
         SecurityContextHolder.clearContext();
     }
 
@@ -0,0 +1,252 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.dto.backup.BackupRecordDto;
+import com.example.todoapp.dto.backup.BackupRestoreResultDto;
+import com.example.todoapp.exception.BadRequestException;
+import com.example.todoapp.exception.ResourceNotFoundException;
+import com.example.todoapp.repository.BackupJdbcRepository;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.service.BackupService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BackupServiceImpl implements BackupService {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BackupJdbcRepository backupRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.backup.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void checkUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+    }
+
+    @Override
+    public void export(Long userId, OutputStream out) throws IOException {
+        String scope = userId != null ? "user" : "all";
+        log.info("Starting backup export, scope: {}{}", scope, userId != null ? " " + userId : "");
+        
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+        long[] written = new long[1];
+        Consumer<BackupRecordDto> sink = record -> {
+            writeLine(gzip, record);
+            written[0]++;
+        };
+        
+        // Rows go straight from the cursor to the gzip stream, nothing is collected
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            sink.accept(BackupRecordDto.builder()
+                    .type(BackupRecordDto.Type.HEADER)
+                    .version(FORMAT_VERSION)
+                    .scope(scope)
+                    .exportedAt(LocalDateTime.now())
+                    .build());
+            backupRepository.streamRoles(sink);
+            backupRepository.streamUsers(userId, sink);
+            backupRepository.streamUserRoles(userId, sink);
+            backupRepository.streamTodos(userId, sink);
+        });
+        // Writes the gzip trailer; the servlet container owns and closes the underlying stream
+        gzip.finish();
+        gzip.flush();
+        
+        log.info("Backup export finished, {} records written", written[0]);
+    }
+
+    @Override
+    public BackupRestoreResultDto restore(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(in, BUFFER_SIZE), StandardCharsets.UTF_8));
+        
+        RestoreRun run = new RestoreRun();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                run.roleIds.putAll(backupRepository.findRoleIdsByName());
+                try {
+                    String line;
+                    long lineNumber = 0;
+                    while ((line = reader.readLine()) != null) {
+                        lineNumber++;
+                        if (!line.isBlank()) {
+                            run.apply(lineNumber, parse(lineNumber, line));
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                run.flushAll();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        log.info("Backup restore finished: {}", run.result);
+        return run.result;
+    }
+
+    private BackupRecordDto parse(long lineNumber, String line) {
+        try {
+            return objectMapper.readValue(line, BackupRecordDto.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed backup record on line " + lineNumber + ": " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private void writeLine(OutputStream out, BackupRecordDto record) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(record));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Archive ids are remapped to the ids generated by the target database; only the user map grows with input
+    private class RestoreRun {
+        private final BackupRestoreResultDto result = new BackupRestoreResultDto();
+        private final Map<String, Long> roleIds = new HashMap<>();
+        private final Map<Long, Long> userIds = new HashMap<>();
+        private final List<BackupRecordDto> users = new ArrayList<>();
+        private final List<long[]> userRoles = new ArrayList<>();
+        private final List<BackupRecordDto> todos = new ArrayList<>();
+
+        void apply(long lineNumber, BackupRecordDto record) {
+            if (record.getType() == null) {
+                throw new BadRequestException("Backup record on line " + lineNumber + " has no type");
+            }
+            switch (record.getType()) {
+                case HEADER:
+                    if (record.getVersion() == null || record.getVersion() > FORMAT_VERSION) {
+                        throw new BadRequestException("Unsupported backup format version: " + record.getVersion());
+                    }
+                    break;
+                case ROLE:
+                    if (!roleIds.containsKey(record.getName())) {
+                        roleIds.put(record.getName(), backupRepository.insertRole(record.getName(), record.getDescription()));
+                        result.setRolesCreated(result.getRolesCreated() + 1);
+                    }
+                    break;
+                case USER:
+                    users.add(record);
+                    if (users.size() >= batchSize) {
+                        flushUsers();
+                    }
+                    break;
+                case USER_ROLE: {
+                    flushUsers();
+                    Long userId = userIds.get(record.getUserId());
+                    Long roleId = roleIds.get(record.getName());
+                    if (userId != null && roleId != null) {
+                        userRoles.add(new long[]{userId, roleId});
+                        if (userRoles.size() >= batchSize) {
+                            flushUserRoles();
+                        }
+                    }
+                    break;
+                }
+                case TODO: {
+                    flushUsers();
+                    Long userId = userIds.get(record.getUserId());
+                    if (userId == null) {
+                        result.setTodosSkipped(result.getTodosSkipped() + 1);
+                        break;
+                    }
+                    record.setUserId(userId);
+                    todos.add(record);
+                    if (todos.size() >= batchSize) {
+                        flushTodos();
+                    }
+                    break;
+                }
+                default:
+                    throw new BadRequestException("Unknown backup record type on line " + lineNumber);
+            }
+        }
+
+        void flushAll() {
+            flushUsers();
+            flushUserRoles();
+            flushTodos();
+        }
+
+        private void flushUsers() {
+            if (users.isEmpty()) {
+                return;
+            }
+            Set<String> taken = backupRepository.findTakenUsernamesAndEmails(
+                    users.stream().map(BackupRecordDto::getUsername).collect(Collectors.toList()),
+                    users.stream().map(BackupRecordDto::getEmail).collect(Collectors.toList()));
+            List<BackupRecordDto> restorable = users.stream()
+                    .filter(user -> !taken.contains(user.getUsername()) && !taken.contains(user.getEmail()))
+                    .collect(Collectors.toList());
+            if (!restorable.isEmpty()) {
+                List<Long> ids = backupRepository.insertUsers(restorable);
+                for (int i = 0; i < restorable.size(); i++) {
+                    userIds.put(restorable.get(i).getId(), ids.get(i));
+                }
+            }
+            if (restorable.size() < users.size()) {
+                log.warn("Skipping {} users from backup whose username or email already exists", users.size() - restorable.size());
+            }
+            result.setUsersRestored(result.getUsersRestored() + restorable.size());
+            result.setUsersSkipped(result.getUsersSkipped() + users.size() - restorable.size());
+            users.clear();
+        }
+
+        private void flushUserRoles() {
+            if (userRoles.isEmpty()) {
+                return;
+            }
+            backupRepository.insertUserRoles(userRoles);
+            result.setUserRolesRestored(result.getUserRolesRestored() + userRoles.size());
+            userRoles.clear();
+        }
+
+        // Restored todos belong to freshly inserted users, so no cache, index or counter row exists for them yet
+        private void flushTodos() {
+            if (todos.isEmpty()) {
+                return;
+            }
+            backupRepository.insertTodos(todos);
+            result.setTodosRestored(result.getTodosRestored() + todos.size());
+            todos.clear();
+        }
+    }
+}
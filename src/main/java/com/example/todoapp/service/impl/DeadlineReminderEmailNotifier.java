@@ -0,0 +1,39 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.event.TodoReminderEvent;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.service.EmailService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Mails deadline reminders to verified, enabled users; off unless app.reminders.email-enabled=true
+@Component
+@ConditionalOnProperty(name = "app.reminders.email-enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class DeadlineReminderEmailNotifier {
+
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+
+    // Runs on the reminder dispatcher thread, so a slow mail server delays reminders but never the wheel
+    @EventListener
+    public void onReminder(TodoReminderEvent event) {
+        if (!event.isClaimed()) {
+            return;
+        }
+        userRepository.findById(event.getUserId())
+                .filter(user -> Boolean.TRUE.equals(user.getEnabled()) && Boolean.TRUE.equals(user.getEmailVerified()))
+                .ifPresent(user -> {
+                    try {
+                        emailService.sendDeadlineReminderEmail(user.getEmail(), user.getFirstName(), event.getTitle(),
+                                event.getDeadline(), event.getType() == TodoReminderEvent.Type.OVERDUE);
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to send deadline reminder for todo ID: {}", event.getTodoId(), e);
+                    }
+                });
+    }
+}
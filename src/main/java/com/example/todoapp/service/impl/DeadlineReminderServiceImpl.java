@@ -0,0 +1,425 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.event.TodoBulkChangedEvent;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.event.TodoReminderEvent;
+import com.example.todoapp.repository.TodoMutationRepository;
+import com.example.todoapp.repository.TodoReminderView;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.DeadlineReminderService;
+import com.example.todoapp.util.DeadlineClassifier;
+import com.example.todoapp.util.HierarchicalTimingWheel;
+import com.example.todoapp.util.HierarchicalTimingWheel.Timeout;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Keeps the next few minutes of deadline reminders in a hierarchical timing wheel. The window is refilled from
+// idx_todos_deadline as it advances, and todo changes reschedule their own entries. Every reminder is re-checked
+// against the database right before it is published, so stale wheel entries never reach a user. Every instance
+// runs its own wheel; a conditional UPDATE on the todo row claims each reminder for exactly one of them.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeadlineReminderServiceImpl implements DeadlineReminderService {
+
+    private static final int VALIDATION_CHUNK_SIZE = 500;
+
+    private final TodoRepository todoRepository;
+    private final TodoMutationRepository todoMutationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Value("${app.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reminders.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${app.reminders.wheel-size:64}")
+    private int wheelSize;
+
+    @Value("${app.reminders.horizon-minutes:10}")
+    private long horizonMinutes;
+
+    @Value("${app.reminders.refill-batch-size:1000}")
+    private int refillBatchSize;
+
+    // Wheel, index and horizon marks are only touched while holding the lock
+    private final Object lock = new Object();
+    private final Map<Long, ScheduledReminders> scheduled = new HashMap<>();
+    private HierarchicalTimingWheel<Reminder> wheel;
+    private long loadedUntilMs;
+    private long pendingUntilMs;
+    // Todos changed by single-row events while a bulk reschedule reads, one set per read in flight
+    private final List<Set<Long>> bulkReads = new ArrayList<>();
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService dispatcher;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Deadline reminders are disabled");
+            return;
+        }
+        long nowMs = clock.millis();
+        wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, nowMs);
+        // Reminders whose trigger passed before startup are not replayed
+        loadedUntilMs = nowMs;
+        pendingUntilMs = nowMs;
+
+        ticker = Executors.newSingleThreadScheduledExecutor(daemon("reminder-ticker"));
+        dispatcher = Executors.newSingleThreadExecutor(daemon("reminder-dispatcher"));
+        ticker.scheduleWithFixedDelay(this::tick, 0, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Deadline reminders started with a {} minute horizon", horizonMinutes);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            dispatcher.shutdownNow();
+        }
+    }
+
+    @Override
+    public int getScheduledCount() {
+        if (!enabled) {
+            return 0;
+        }
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    // Runs after commit. Entries are always replaced here; refills only fill empty slots, so a refill page read
+    // before this commit cannot overwrite the newer schedule.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<Reminder> due = new ArrayList<>();
+        synchronized (lock) {
+            boolean open = event.getType() != TodoChangedEvent.Type.DELETED
+                    && !Boolean.TRUE.equals(event.getCompleted());
+            rescheduleLocked(event.getTodoId(), event.getUserId(), open ? event.getDeadline() : null, due);
+            for (Set<Long> changedMeanwhile : bulkReads) {
+                changedMeanwhile.add(event.getTodoId());
+            }
+        }
+        dispatch(due);
+    }
+
+    // Runs after commit. Reschedules the user's open todos inside the loaded horizon from the database; entries
+    // of todos the bulk write completed or deleted stay in the wheel and are dropped by the check before
+    // publishing. The read runs outside the lock; todos changed by a single-row event meanwhile keep that newer
+    // schedule, and unchanged deadlines keep their entries.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodoBulkChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> changedMeanwhile = new HashSet<>();
+        long untilMs;
+        synchronized (lock) {
+            bulkReads.add(changedMeanwhile);
+            untilMs = pendingUntilMs;
+        }
+        List<TodoReminderView> open;
+        try {
+            open = todoRepository.findOpenReminderViewsByUserId(event.getUserId(),
+                    toLocal(clock.millis()), toLocal(untilMs).plus(DeadlineClassifier.DUE_SOON_WINDOW));
+        } finally {
+            synchronized (lock) {
+                bulkReads.remove(changedMeanwhile);
+            }
+        }
+        List<Reminder> due = new ArrayList<>();
+        synchronized (lock) {
+            for (TodoReminderView view : open) {
+                if (!changedMeanwhile.contains(view.getId())) {
+                    rescheduleLocked(view.getId(), view.getUserId(), view.getDeadline(), due);
+                }
+            }
+        }
+        dispatch(due);
+    }
+
+    private void tick() {
+        try {
+            long nowMs = clock.millis();
+            List<Reminder> due = new ArrayList<>();
+            boolean refill;
+            synchronized (lock) {
+                wheel.advanceTo(nowMs, reminder -> {
+                    release(reminder);
+                    due.add(reminder);
+                });
+                refill = loadedUntilMs - nowMs < horizonMillis() / 2;
+            }
+            dispatch(due);
+            if (refill) {
+                refill(nowMs + horizonMillis());
+            }
+        } catch (RuntimeException e) {
+            // Keep ticking; a failed refill leaves loadedUntilMs behind and is retried on the next tick
+            log.error("Deadline reminder tick failed", e);
+        }
+    }
+
+    // Loads the triggers in [loadedUntil, untilMs): overdue at the deadline, due soon one window earlier
+    private void refill(long untilMs) {
+        long fromMs;
+        synchronized (lock) {
+            fromMs = loadedUntilMs;
+            pendingUntilMs = untilMs;
+        }
+        LocalDateTime from = toLocal(fromMs);
+        LocalDateTime until = toLocal(untilMs);
+        int loaded = loadTriggers(TodoReminderEvent.Type.OVERDUE, from, until)
+                + loadTriggers(TodoReminderEvent.Type.DUE_SOON,
+                        from.plus(DeadlineClassifier.DUE_SOON_WINDOW), until.plus(DeadlineClassifier.DUE_SOON_WINDOW));
+        synchronized (lock) {
+            loadedUntilMs = untilMs;
+        }
+        if (loaded > 0) {
+            log.debug("Loaded {} deadline reminders up to {}", loaded, until);
+        }
+    }
+
+    private int loadTriggers(TodoReminderEvent.Type type, LocalDateTime from, LocalDateTime to) {
+        int loaded = 0;
+        LocalDateTime lastDeadline = from;
+        long lastId = 0L;
+        while (true) {
+            List<TodoReminderView> page = todoRepository.findOpenReminderPage(
+                    from, to, lastDeadline, lastId, PageRequest.of(0, refillBatchSize));
+            List<Reminder> due = new ArrayList<>();
+            synchronized (lock) {
+                for (TodoReminderView view : page) {
+                    // A todo rescheduled by a change event keeps that schedule, even if this page read an older deadline
+                    ScheduledReminders current = scheduled.get(view.getId());
+                    if (current == null || (current.getDeadline().equals(view.getDeadline()) && current.get(type) == null)) {
+                        scheduleLocked(type, view.getId(), view.getUserId(), view.getDeadline(), due);
+                        loaded++;
+                    }
+                }
+            }
+            dispatch(due);
+            if (page.size() < refillBatchSize) {
+                return loaded;
+            }
+            TodoReminderView last = page.get(page.size() - 1);
+            lastDeadline = last.getDeadline();
+            lastId = last.getId();
+        }
+    }
+
+    // Replaces the entries of a todo; a null deadline (also used for completed and deleted todos) just cancels them
+    private void rescheduleLocked(Long todoId, Long userId, LocalDateTime deadline, List<Reminder> due) {
+        ScheduledReminders current = scheduled.get(todoId);
+        if (current != null && deadline != null && current.getDeadline().equals(deadline)) {
+            return;
+        }
+        if (current != null) {
+            current.cancel();
+            scheduled.remove(todoId);
+        }
+        if (deadline != null) {
+            long nowMs = clock.millis();
+            long deadlineMs = toMillis(deadline);
+            // Only future transitions are scheduled; a todo created inside its due-soon window gets the overdue one
+            if (deadlineMs - DeadlineClassifier.DUE_SOON_WINDOW.toMillis() > nowMs) {
+                scheduleLocked(TodoReminderEvent.Type.DUE_SOON, todoId, userId, deadline, due);
+            }
+            if (deadlineMs > nowMs) {
+                scheduleLocked(TodoReminderEvent.Type.OVERDUE, todoId, userId, deadline, due);
+            }
+        }
+    }
+
+    private void scheduleLocked(TodoReminderEvent.Type type, Long todoId, Long userId, LocalDateTime deadline, List<Reminder> due) {
+        long triggerMs = type == TodoReminderEvent.Type.OVERDUE
+                ? toMillis(deadline)
+                : toMillis(deadline.minus(DeadlineClassifier.DUE_SOON_WINDOW));
+        // Beyond the loaded horizon the trigger is picked up by a later refill
+        if (triggerMs >= pendingUntilMs) {
+            return;
+        }
+        Reminder reminder = new Reminder(type, todoId, userId, deadline);
+        Timeout<Reminder> timeout = wheel.schedule(triggerMs, reminder);
+        if (timeout == null) {
+            due.add(reminder);
+            return;
+        }
+        ScheduledReminders current = scheduled.get(todoId);
+        if (current != null && !current.getDeadline().equals(deadline)) {
+            current.cancel();
+            current = null;
+        }
+        if (current == null) {
+            current = new ScheduledReminders(deadline);
+            scheduled.put(todoId, current);
+        }
+        current.set(type, timeout);
+    }
+
+    private void release(Reminder reminder) {
+        ScheduledReminders current = scheduled.get(reminder.getTodoId());
+        if (current == null || !current.getDeadline().equals(reminder.getDeadline())) {
+            return;
+        }
+        current.set(reminder.getType(), null);
+        if (current.isEmpty()) {
+            scheduled.remove(reminder.getTodoId());
+        }
+    }
+
+    private void dispatch(List<Reminder> due) {
+        if (!due.isEmpty()) {
+            dispatcher.execute(() -> publishValid(due));
+        }
+    }
+
+    // Drops reminders whose todo was deleted, completed or moved to another deadline since it was scheduled
+    private void publishValid(List<Reminder> due) {
+        try {
+            for (int start = 0; start < due.size(); start += VALIDATION_CHUNK_SIZE) {
+                List<Reminder> chunk = due.subList(start, Math.min(start + VALIDATION_CHUNK_SIZE, due.size()));
+                Map<Long, TodoReminderView> current = todoRepository.findReminderViewsByIdIn(
+                                chunk.stream().map(Reminder::getTodoId).distinct().toList())
+                        .stream()
+                        .collect(Collectors.toMap(TodoReminderView::getId, Function.identity()));
+                List<Reminder> valid = new ArrayList<>();
+                for (Reminder reminder : chunk) {
+                    TodoReminderView view = current.get(reminder.getTodoId());
+                    if (view != null && !Boolean.TRUE.equals(view.getCompleted())
+                            && Objects.equals(view.getDeadline(), reminder.getDeadline())) {
+                        valid.add(reminder);
+                    }
+                }
+                // One claim statement per type, committed before publishing, so another instance can never claim
+                // the same reminder meanwhile
+                Map<TodoReminderEvent.Type, Set<Long>> claimed = transactionTemplate.execute(status -> claim(valid));
+                for (Reminder reminder : valid) {
+                    TodoReminderView view = current.get(reminder.getTodoId());
+                    eventPublisher.publishEvent(new TodoReminderEvent(reminder.getType(), view.getUserId(),
+                            view.getId(), view.getTitle(), view.getDeadline(),
+                            claimed.get(reminder.getType()).remove(reminder.getTodoId())));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to publish {} deadline reminders", due.size(), e);
+        }
+    }
+
+    private Map<TodoReminderEvent.Type, Set<Long>> claim(List<Reminder> reminders) {
+        Map<Long, LocalDateTime> dueSoon = new HashMap<>();
+        Map<Long, LocalDateTime> overdue = new HashMap<>();
+        for (Reminder reminder : reminders) {
+            (reminder.getType() == TodoReminderEvent.Type.OVERDUE ? overdue : dueSoon)
+                    .putIfAbsent(reminder.getTodoId(), reminder.getDeadline());
+        }
+        Map<TodoReminderEvent.Type, Set<Long>> claimed = new EnumMap<>(TodoReminderEvent.Type.class);
+        claimed.put(TodoReminderEvent.Type.DUE_SOON, todoMutationRepository.claimDueSoonReminders(dueSoon));
+        claimed.put(TodoReminderEvent.Type.OVERDUE, todoMutationRepository.claimOverdueReminders(overdue));
+        return claimed;
+    }
+
+    private long horizonMillis() {
+        return TimeUnit.MINUTES.toMillis(horizonMinutes);
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class Reminder {
+        private final TodoReminderEvent.Type type;
+        private final Long todoId;
+        private final Long userId;
+        private final LocalDateTime deadline;
+    }
+
+    // Wheel entries of one todo; both belong to the same deadline
+    @Getter
+    private static final class ScheduledReminders {
+        private final LocalDateTime deadline;
+        private Timeout<Reminder> dueSoon;
+        private Timeout<Reminder> overdue;
+
+        private ScheduledReminders(LocalDateTime deadline) {
+            this.deadline = deadline;
+        }
+
+        private Timeout<Reminder> get(TodoReminderEvent.Type type) {
+            return type == TodoReminderEvent.Type.DUE_SOON ? dueSoon : overdue;
+        }
+
+        private void set(TodoReminderEvent.Type type, Timeout<Reminder> timeout) {
+            if (type == TodoReminderEvent.Type.DUE_SOON) {
+                dueSoon = timeout;
+            } else {
+                overdue = timeout;
+            }
+        }
+
+        private boolean isEmpty() {
+            return dueSoon == null && overdue == null;
+        }
+
+        private void cancel() {
+            if (dueSoon != null) {
+                dueSoon.cancel();
+            }
+            if (overdue != null) {
+                overdue.cancel();
+            }
+        }
+    }
+}
@@ -14,6 +14,8 @@ import org.thymeleaf.context.Context;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -101,4 +103,31 @@ public class EmailServiceImpl implements EmailService {
             throw new RuntimeException("Failed to send welcome email", e);
         }
     }
+
+    @Override
+    public void sendDeadlineReminderEmail(String to, String firstName, String todoTitle, LocalDateTime deadline, boolean overdue) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+            helper.setFrom(fromAddress);
+            helper.setTo(to);
+            helper.setSubject((overdue ? "Overdue: " : "Due soon: ") + todoTitle + " - Todo App");
+
+            Context context = new Context();
+            context.setVariable("firstName", firstName);
+            context.setVariable("todoTitle", todoTitle);
+            context.setVariable("deadline", deadline);
+            context.setVariable("overdue", overdue);
+
+            String htmlContent = templateEngine.process("deadline-reminder-email", context);
+            helper.setText(htmlContent, true);
+
+            mailSender.send(message);
+            log.info("Deadline reminder email sent successfully to: {}", to);
+        } catch (MessagingException e) {
+            log.error("Failed to send deadline reminder email to: {}", to, e);
+            throw new RuntimeException("Failed to send deadline reminder email", e);
+        }
+    }
 }
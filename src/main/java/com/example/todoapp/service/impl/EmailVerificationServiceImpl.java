@@ -6,16 +6,19 @@ import com.example.todoapp.dto.auth.ResendVerificationRequestDto;
 import com.example.todoapp.dto.auth.UserProfileDto;
 import com.example.todoapp.entity.EmailVerification;
 import com.example.todoapp.entity.User;
+import com.example.todoapp.event.UserSecurityChangedEvent;
 import com.example.todoapp.repository.EmailVerificationRepository;
 import com.example.todoapp.repository.UserRepository;
 import com.example.todoapp.service.EmailService;
 import com.example.todoapp.service.EmailVerificationService;
 import com.example.todoapp.service.JwtService;
+import com.example.todoapp.service.RefreshTokenService;
 import com.example.todoapp.util.DateTimeUtil;
 import com.example.todoapp.util.VerificationCodeGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,6 +37,8 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
     private final VerificationCodeGenerator codeGenerator;
     private final DateTimeUtil dateTimeUtil;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.email.verification.expiry-minutes:10}")
     private int expiryMinutes;
@@ -118,6 +123,7 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
         user.setEmailVerified(true);
         user.setEnabled(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId()));
 
         log.debug("User updated - Email verified: {}, Enabled: {}", user.getEmailVerified(), user.getEnabled());
 
@@ -130,7 +136,7 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
         // Generate JWT tokens for automatic login
         log.debug("Generating JWT tokens for user: {}", user.getUsername());
         String accessToken = jwtService.generateAccessToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
+        String refreshToken = refreshTokenService.issue(user.getId());
         
         log.debug("JWT tokens generated - Access token: {}, Refresh token: {}", 
                  accessToken != null ? "not null" : "null", 
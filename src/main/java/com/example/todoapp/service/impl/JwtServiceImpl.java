@@ -2,17 +2,20 @@ package com.example.todoapp.service.impl;
 
 import com.example.todoapp.config.JwtConfig;
 import com.example.todoapp.entity.User;
+import com.example.todoapp.security.ParsedToken;
 import com.example.todoapp.service.JwtService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -21,41 +24,52 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JwtServiceImpl implements JwtService {
 
+    private static final String SECURITY_VERSION_CLAIM = "sv";
+
     private final JwtConfig jwtConfig;
 
-    @Override
-    public String generateAccessToken(User user) {
-        log.debug("Generating access token for user: {}", user.getUsername());
-        String token = generateToken(user, jwtConfig.getAccessTokenExpiration());
-        log.debug("Generated access token: {}", token != null ? token.substring(0, Math.min(token.length(), 20)) + "..." : "null");
-        return token;
-    }
+    // Built once: the HMAC key derivation and parser setup are the same for every token
+    private SecretKey signingKey;
+    private JwtParser parser;
 
-    @Override
-    public String generateRefreshToken(User user) {
-        log.debug("Generating refresh token for user: {}", user.getUsername());
-        String token = generateToken(user, jwtConfig.getRefreshTokenExpiration());
-        log.debug("Generated refresh token: {}", token != null ? token.substring(0, Math.min(token.length(), 20)) + "..." : "null");
-        return token;
+    @PostConstruct
+    void init() {
+        signingKey = buildSigningKey();
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        log.info("JWT signing key initialized ({} bits)", signingKey.getEncoded().length * 8);
     }
 
     @Override
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public String generateAccessToken(User user) {
+        return generateAccessToken(user, user.getSecurityVersion());
     }
 
     @Override
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public String generateAccessToken(User user, long securityVersion) {
+        log.debug("Generating access token for user: {}", user.getUsername());
+        String token = generateToken(user, securityVersion, jwtConfig.getAccessTokenExpiration());
+        log.debug("Generated access token: {}", token != null ? token.substring(0, Math.min(token.length(), 20)) + "..." : "null");
+        return token;
     }
 
     @Override
-    public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public ParsedToken parseToken(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new MalformedJwtException("JWT is missing its subject or expiration");
+        }
+        Long securityVersion = claims.get(SECURITY_VERSION_CLAIM, Long.class);
+        return new ParsedToken(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                readRoles(claims),
+                securityVersion != null ? securityVersion : 0L,
+                claims.getExpiration().toInstant());
     }
 
-    private String generateToken(User user, long expiration) {
+    private String generateToken(User user, long securityVersion, long expiration) {
         try {
             log.debug("Starting token generation for user: {}", user.getUsername());
             log.debug("JWT Config - Secret length: {}, Issuer: {}, Expiration: {}", 
@@ -67,12 +81,10 @@ public class JwtServiceImpl implements JwtService {
                     .map(role -> role.getName())
                     .collect(Collectors.toList()));
             claims.put("userId", user.getId());
+            claims.put(SECURITY_VERSION_CLAIM, securityVersion);
             
             log.debug("Claims prepared: {}", claims);
             
-            SecretKey signingKey = getSigningKey();
-            log.debug("Signing key generated: {}", signingKey != null ? signingKey.getAlgorithm() : "null");
-            
             String token = Jwts.builder()
                     .setClaims(claims)
                     .setSubject(user.getUsername())
@@ -91,46 +103,20 @@ public class JwtServiceImpl implements JwtService {
         }
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private <T> T extractClaim(String token, java.util.function.Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (Exception e) {
-            log.error("Error parsing JWT token: {}", token, e);
-            throw e;
+    private List<String> readRoles(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof Collection<?> names)) {
+            return List.of();
         }
+        return names.stream().map(String::valueOf).toList();
     }
 
-    private SecretKey getSigningKey() {
-        try {
-            String secret = jwtConfig.getSecret();
-            if (secret == null || secret.trim().isEmpty()) {
-                log.error("JWT secret is null or empty");
-                throw new IllegalStateException("JWT secret cannot be null or empty");
-            }
-            
-            byte[] keyBytes = secret.getBytes();
-            log.debug("Secret key bytes length: {}", keyBytes.length);
-            
-            SecretKey key = Keys.hmacShaKeyFor(keyBytes);
-            log.debug("Secret key generated successfully: {}", key.getAlgorithm());
-            return key;
-            
-        } catch (Exception e) {
-            log.error("Error generating signing key", e);
-            throw e;
+    private SecretKey buildSigningKey() {
+        String secret = jwtConfig.getSecret();
+        if (secret == null || secret.trim().isEmpty()) {
+            log.error("JWT secret is null or empty");
+            throw new IllegalStateException("JWT secret cannot be null or empty");
         }
+        return Keys.hmacShaKeyFor(secret.getBytes());
     }
 }
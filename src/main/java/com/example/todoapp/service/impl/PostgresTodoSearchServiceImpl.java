@@ -0,0 +1,70 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.service.TodoSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Registered by SearchConfig
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresTodoSearchServiceImpl implements TodoSearchService {
+
+    // Word/prefix hits come from the tsvector GIN index, substring hits from the pg_trgm GIN indexes
+    private static final String SEARCH_SQL =
+            "SELECT id FROM todos " +
+            "WHERE user_id = :userId " +
+            "AND ((:tsQuery <> '' AND search_vector @@ to_tsquery('simple', :tsQuery)) " +
+            "OR title ILIKE :pattern OR description ILIKE :pattern) " +
+            "ORDER BY (CASE WHEN :tsQuery <> '' THEN ts_rank(search_vector, to_tsquery('simple', :tsQuery)) ELSE 0 END) " +
+            "+ similarity(title, :keyword) DESC, created_at DESC, id DESC " +
+            "LIMIT :maxResults";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.max-results:500}")
+    private int maxResults;
+
+    @Override
+    public List<Long> search(Long userId, String keyword) {
+        String normalized = keyword != null ? keyword.trim().toLowerCase(Locale.ROOT) : "";
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("keyword", normalized)
+                .addValue("tsQuery", toPrefixQuery(normalized))
+                .addValue("pattern", "%" + escapeLike(normalized) + "%")
+                .addValue("maxResults", maxResults);
+        
+        List<Long> ids = jdbcTemplate.queryForList(SEARCH_SQL, params, Long.class);
+        log.debug("Full-text search for user ID: {} matched {} todos", userId, ids.size());
+        return ids;
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        // Nothing cached in-process
+    }
+
+    // "buy milk" -> "buy:* & milk:*", keeping only letters and digits so user input cannot break the tsquery syntax
+    private String toPrefixQuery(String keyword) {
+        return Arrays.stream(keyword.split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.config.JwtConfig;
+import com.example.todoapp.entity.RefreshToken;
+import com.example.todoapp.exception.InvalidTokenException;
+import com.example.todoapp.repository.RefreshTokenRepository;
+import com.example.todoapp.service.RefreshTokenService;
+import com.example.todoapp.util.TokenHasher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtConfig jwtConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${app.auth.refresh-tokens.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    @Override
+    @Transactional
+    public String issue(Long userId) {
+        return save(userId, random.nextLong());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public RefreshToken consume(String token) {
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(TokenHasher.sha256Hex(token))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (!stored.getExpiresAt().isAfter(now)) {
+            throw new InvalidTokenException("Refresh token has expired");
+        }
+        if (stored.getUsedAt() != null || refreshTokenRepository.markUsed(stored.getId(), now) == 0) {
+            // A rotated token came back: either it leaked or the client is replaying it. End the session for both.
+            int revoked = refreshTokenRepository.deleteByFamilyId(stored.getFamilyId());
+            log.warn("Refresh token reuse detected for user ID: {}, revoked {} tokens of its session",
+                    stored.getUserId(), revoked);
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+        return stored;
+    }
+
+    @Override
+    @Transactional
+    public String issueRotated(RefreshToken consumed) {
+        return save(consumed.getUserId(), consumed.getFamilyId());
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(TokenHasher.sha256Hex(token))
+                .ifPresent(stored -> refreshTokenRepository.deleteByFamilyId(stored.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Override
+    @Scheduled(cron = "${app.auth.refresh-tokens.purge-cron:0 0 4 * * *}")
+    public int purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int purged = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<Long> ids = refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, purgeBatchSize));
+                return ids.isEmpty() ? 0 : refreshTokenRepository.deleteByIdIn(ids);
+            });
+            if (batch == null || batch == 0) {
+                break;
+            }
+            purged += batch;
+        }
+        log.info("Purged {} expired refresh tokens", purged);
+        return purged;
+    }
+
+    private String save(Long userId, long familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime expiresAt = LocalDateTime.now(clock).plus(Duration.ofMillis(jwtConfig.getRefreshTokenExpiration()));
+        refreshTokenRepository.save(new RefreshToken(TokenHasher.sha256Hex(token), userId, familyId, expiresAt));
+        return token;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.dto.common.CacheStatsDto;
+import com.example.todoapp.event.TodoBulkChangedEvent;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoRow;
+import com.example.todoapp.service.TodoCacheService;
+import com.example.todoapp.service.TodoCounterService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoCacheServiceImpl implements TodoCacheService {
+
+    private final TodoRepository todoRepository;
+    private final TodoCounterService todoCounterService;
+
+    @Value("${app.todo.cache.max-rows:100000}")
+    private long maxRows;
+
+    @Value("${app.todo.cache.max-rows-per-user:2000}")
+    private long maxRowsPerUser;
+
+    // Invalidation only reaches this instance, so the TTL bounds how long writes made elsewhere stay unseen
+    @Value("${app.todo.cache.expire-after-write-seconds:30}")
+    private long expireAfterWriteSeconds;
+
+    // Caffeine evicts with W-TinyLFU, weighted by row count so large accounts cost proportionally
+    private Cache<Long, List<TodoRow>> cache;
+
+    @PostConstruct
+    void buildCache() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Long userId, List<TodoRow> rows) -> rows.size() + 1)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<List<TodoRow>> getRows(Long userId) {
+        // asMap().get does not record stats, so a hit is only counted once below
+        if (cache.asMap().get(userId) == null
+                && todoCounterService.getCounters(userId).getTotalTodos() > maxRowsPerUser) {
+            return Optional.empty();
+        }
+        return Optional.of(cache.get(userId, id -> List.copyOf(todoRepository.findRowsByUserId(id))));
+    }
+
+    @Override
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    @Override
+    public CacheStatsDto getStats() {
+        return CacheStatsDto.of("todoRows", cache);
+    }
+
+    // Runs after commit; Caffeine blocks the removal until an in-flight load for the user finishes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        log.debug("Invalidating cached todos for user ID: {}", event.getUserId());
+        invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodoBulkChangedEvent event) {
+        log.debug("Invalidating cached todos for user ID: {} after a bulk change", event.getUserId());
+        invalidate(event.getUserId());
+    }
+}
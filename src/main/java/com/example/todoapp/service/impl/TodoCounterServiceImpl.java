@@ -0,0 +1,193 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.config.DatabasePlatform;
+import com.example.todoapp.entity.UserTodoCounter;
+import com.example.todoapp.repository.TodoCountsView;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.repository.UserTodoCounterRepository;
+import com.example.todoapp.service.TodoCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoCounterServiceImpl implements TodoCounterService {
+
+    private final UserTodoCounterRepository counterRepository;
+    private final TodoRepository todoRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    @Value("${app.todo.counters.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    @Override
+    @Transactional
+    public void recordCreated(Long userId, boolean completed, boolean hasDeadline) {
+        applyDelta(userId, 1, flag(completed), flag(hasDeadline), flag(completed && hasDeadline));
+    }
+
+    @Override
+    @Transactional
+    public void recordChanged(Long userId, boolean wasCompleted, boolean hadDeadline, boolean completed, boolean hasDeadline) {
+        applyDelta(userId,
+                0,
+                flag(completed) - flag(wasCompleted),
+                flag(hasDeadline) - flag(hadDeadline),
+                flag(completed && hasDeadline) - flag(wasCompleted && hadDeadline));
+    }
+
+    @Override
+    @Transactional
+    public void recordDeleted(Long userId, boolean completed, boolean hasDeadline) {
+        applyDelta(userId, -1, -flag(completed), -flag(hasDeadline), -flag(completed && hasDeadline));
+    }
+
+    @Override
+    @Transactional
+    public void recordDelta(Long userId, long total, long completed, long withDeadline, long completedWithDeadline) {
+        applyDelta(userId, total, completed, withDeadline, completedWithDeadline);
+    }
+
+    @Override
+    @Transactional
+    public long nextChangeVersion(Long userId) {
+        if (counterRepository.incrementChangeVersion(userId) == 0) {
+            // Counted before this write; its own delta is applied afterwards as usual
+            insertCountersIfAbsent(userId);
+            counterRepository.incrementChangeVersion(userId);
+        }
+        return counterRepository.findChangeVersion(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserTodoCounter getCounters(Long userId) {
+        // Users without a counters row yet get a transient snapshot; the next write or reconciliation persists it
+        return counterRepository.findById(userId)
+                .orElseGet(() -> countTodos(List.of(userId)).get(0));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getChangeVersion(Long userId) {
+        Long version = counterRepository.findChangeVersion(userId);
+        return version != null ? version : 0L;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getTombstonesPurgedVersion(Long userId) {
+        Long version = counterRepository.findTombstonesPurgedVersion(userId);
+        return version != null ? version : 0L;
+    }
+
+    @Override
+    @Scheduled(cron = "${app.todo.counters.reconcile-cron:0 0 3 * * *}")
+    public void reconcileAllCounters() {
+        log.info("Starting todo counter reconciliation");
+        
+        long lastUserId = 0L;
+        int reconciledUsers = 0;
+        while (true) {
+            List<Long> userIds = userRepository.findIdsAfter(lastUserId, PageRequest.of(0, reconcileBatchSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> reconcileBatch(userIds));
+            lastUserId = userIds.get(userIds.size() - 1);
+            reconciledUsers += userIds.size();
+        }
+        
+        log.info("Todo counter reconciliation completed for {} users", reconciledUsers);
+    }
+
+    private void applyDelta(Long userId, long total, long completed, long withDeadline, long completedWithDeadline) {
+        if (total == 0 && completed == 0 && withDeadline == 0 && completedWithDeadline == 0) {
+            return;
+        }
+        int updated = counterRepository.applyDelta(userId, total, completed, withDeadline, completedWithDeadline);
+        // A row created here was counted with this transaction's change already in it; if another transaction
+        // created it first, its count does not include our uncommitted change, so the delta still applies
+        if (updated == 0 && !insertCountersIfAbsent(userId)) {
+            counterRepository.applyDelta(userId, total, completed, withDeadline, completedWithDeadline);
+        }
+    }
+
+    private boolean insertCountersIfAbsent(Long userId) {
+        int inserted = databasePlatform.isPostgres()
+                ? counterRepository.insertIfAbsentPostgres(userId)
+                : counterRepository.insertIfAbsentH2(userId);
+        if (inserted > 0) {
+            log.debug("Initialized todo counters for user ID: {}", userId);
+        }
+        return inserted > 0;
+    }
+
+    private void reconcileBatch(List<Long> userIds) {
+        // Lock existing rows before counting so in-flight deltas land either before or after the rebuild
+        Map<Long, UserTodoCounter> existing = counterRepository.findAllForUpdate(userIds).stream()
+                .collect(Collectors.toMap(UserTodoCounter::getUserId, Function.identity()));
+        
+        List<UserTodoCounter> rebuilt = new ArrayList<>();
+        for (UserTodoCounter counter : existing.isEmpty() ? List.<UserTodoCounter>of() : countTodos(existing.keySet())) {
+            if (!sameCounts(existing.get(counter.getUserId()), counter)) {
+                log.warn("Todo counters drifted for user ID: {}, rebuilding", counter.getUserId());
+            }
+            rebuilt.add(counter);
+        }
+        counterRepository.saveAll(rebuilt);
+        // Users without a row yet may be racing their first write, so those rows are only ever inserted-if-absent
+        for (Long userId : userIds) {
+            if (!existing.containsKey(userId)) {
+                insertCountersIfAbsent(userId);
+            }
+        }
+    }
+
+    private List<UserTodoCounter> countTodos(Collection<Long> userIds) {
+        Map<Long, TodoCountsView> counts = todoRepository.countTodosByUserIds(userIds).stream()
+                .collect(Collectors.toMap(TodoCountsView::getUserId, Function.identity()));
+        
+        List<UserTodoCounter> counters = new ArrayList<>();
+        for (Long userId : userIds) {
+            UserTodoCounter counter = new UserTodoCounter(userId);
+            TodoCountsView view = counts.get(userId);
+            if (view != null) {
+                counter.setTotalTodos(view.getTotalTodos());
+                counter.setCompletedTodos(view.getCompletedTodos());
+                counter.setTodosWithDeadline(view.getTodosWithDeadline());
+                counter.setCompletedWithDeadline(view.getCompletedWithDeadline());
+            }
+            counters.add(counter);
+        }
+        return counters;
+    }
+
+    private boolean sameCounts(UserTodoCounter a, UserTodoCounter b) {
+        return a.getTotalTodos().equals(b.getTotalTodos())
+                && a.getCompletedTodos().equals(b.getCompletedTodos())
+                && a.getTodosWithDeadline().equals(b.getTodosWithDeadline())
+                && a.getCompletedWithDeadline().equals(b.getCompletedWithDeadline());
+    }
+
+    private long flag(boolean value) {
+        return value ? 1 : 0;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.dto.common.CacheStatsDto;
+import com.example.todoapp.event.TodoBulkChangedEvent;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoDeadlineView;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoCounterService;
+import com.example.todoapp.service.TodoDeadlineIndexService;
+import com.example.todoapp.util.DeadlineIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoDeadlineIndexServiceImpl implements TodoDeadlineIndexService {
+
+    private final TodoRepository todoRepository;
+    private final TodoCounterService todoCounterService;
+
+    @Value("${app.todo.deadline-index.max-entries:1000000}")
+    private long maxEntries;
+
+    @Value("${app.todo.deadline-index.max-entries-per-user:5000}")
+    private long maxEntriesPerUser;
+
+    // Patches only arrive for writes handled by this instance, so the TTL bounds how long other instances' writes
+    // stay unseen. It counts from the load: in-place patches must not extend it.
+    @Value("${app.todo.deadline-index.expire-after-load-seconds:60}")
+    private long expireAfterLoadSeconds;
+
+    // Weighted by indexed todos; each entry costs 16-32 bytes (see DeadlineIndex)
+    private Cache<Long, DeadlineIndex> indexes;
+
+    @PostConstruct
+    void buildCache() {
+        indexes = Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                .weigher((Long userId, DeadlineIndex index) -> index.size() + 1)
+                .expireAfter(Expiry.creating((Long userId, DeadlineIndex index) -> Duration.ofSeconds(expireAfterLoadSeconds)))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<List<Long>> findCandidateIds(Long userId, LocalDateTime from, LocalDateTime to, int limit) {
+        return indexOf(userId).map(index -> boxed(index.findIds(from, to, limit)));
+    }
+
+    @Override
+    public Optional<List<Long>> findOpenCandidateIds(Long userId, LocalDateTime from, LocalDateTime to, int limit) {
+        return indexOf(userId).map(index -> boxed(index.findOpenIds(from, to, limit)));
+    }
+
+    @Override
+    public CacheStatsDto getStats() {
+        CacheStatsDto stats = CacheStatsDto.of("todoDeadlineIndex", indexes);
+        stats.setEstimatedBytes(indexes.asMap().values().stream().mapToLong(DeadlineIndex::estimatedBytes).sum());
+        return stats;
+    }
+
+    // Runs after commit. Loaded indexes are patched in place of a reload; Caffeine serializes this with an
+    // in-flight load for the same user, and replaying a change the load already saw is harmless.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        indexes.asMap().computeIfPresent(event.getUserId(), (userId, index) -> {
+            DeadlineIndex updated = event.getType() == TodoChangedEvent.Type.DELETED
+                    ? index.without(event.getTodoId())
+                    : index.with(event.getTodoId(), event.getDeadline(), Boolean.TRUE.equals(event.getCompleted()));
+            // Grown past the per-user limit: drop it and let reads fall back to the database
+            return updated.size() > maxEntriesPerUser ? null : updated;
+        });
+    }
+
+    // Too many rows to patch one by one; the next lookup reloads the index
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodoBulkChangedEvent event) {
+        indexes.invalidate(event.getUserId());
+    }
+
+    private Optional<DeadlineIndex> indexOf(Long userId) {
+        if (indexes.asMap().get(userId) == null
+                && todoCounterService.getCounters(userId).getTodosWithDeadline() > maxEntriesPerUser) {
+            return Optional.empty();
+        }
+        return Optional.of(indexes.get(userId, this::load));
+    }
+
+    private DeadlineIndex load(Long userId) {
+        List<TodoDeadlineView> rows = todoRepository.findDeadlineViewsByUserId(userId);
+        long[] keys = new long[rows.size()];
+        long[] ids = new long[rows.size()];
+        boolean[] completed = new boolean[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            TodoDeadlineView row = rows.get(i);
+            keys[i] = DeadlineIndex.keyOf(row.getDeadline());
+            ids[i] = row.getId();
+            completed[i] = Boolean.TRUE.equals(row.getCompleted());
+        }
+        DeadlineIndex index = DeadlineIndex.ofSorted(keys, ids, completed);
+        log.debug("Loaded deadline index for user ID: {} ({} todos, ~{} bytes)", userId, index.size(), index.estimatedBytes());
+        return index;
+    }
+
+    private static List<Long> boxed(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+}
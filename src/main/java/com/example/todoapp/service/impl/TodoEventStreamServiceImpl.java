@@ -0,0 +1,342 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.dto.TodoStreamEventDto;
+import com.example.todoapp.event.TodoBulkChangedEvent;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.event.TodoReminderEvent;
+import com.example.todoapp.exception.AuthorizationException;
+import com.example.todoapp.service.TodoEventStreamService;
+import com.example.todoapp.util.SecurityUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Idle streams are parked servlet async requests, so they hold no thread. Events are serialized once per change,
+// queued into a bounded buffer per connection and written by a shared sender pool. A connection whose buffer
+// overflows, and every connection on a bulk change, gets its pending messages replaced by one RESYNC that tells the
+// client to refetch. Writes block on the servlet output stream, so a client that stops reading pins one sender
+// thread: such connections are dropped after the write timeout, and the pool grows on demand so the others keep
+// flowing until the container's socket write timeout frees the thread.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoEventStreamServiceImpl implements TodoEventStreamService {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.events.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${app.events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.events.heartbeat-seconds:20}")
+    private long heartbeatSeconds;
+
+    // Upper bound; threads start on demand and exit after a minute idle
+    @Value("${app.events.sender-threads:32}")
+    private int senderThreads;
+
+    @Value("${app.events.write-timeout-seconds:5}")
+    private long writeTimeoutSeconds;
+
+    @Value("${app.events.max-connections-per-user:10}")
+    private int maxConnectionsPerUser;
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private ThreadPoolExecutor sender;
+    private ScheduledExecutorService heartbeat;
+    private Set<DataWithMediaType> resync;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "todo-events-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        sender.allowCoreThreadTimeOut(true);
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        heartbeat.scheduleWithFixedDelay(this::dropStalled, 1, 1, TimeUnit.SECONDS);
+        resync = message(TodoStreamEventDto.builder().type(TodoStreamEventDto.Type.RESYNC).build());
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        connections.values().forEach(userConnections -> userConnections.forEach(Connection::close));
+        sender.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribeCurrentUser() {
+        Long userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            throw new AuthorizationException("User not authenticated");
+        }
+
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(error -> connection.close());
+
+        Set<Connection> userConnections = connections.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+        userConnections.add(connection);
+        connectionCount.incrementAndGet();
+        // Oldest streams beyond the per-user cap are closed; typically tabs that were left open
+        if (userConnections.size() > maxConnectionsPerUser) {
+            userConnections.stream()
+                    .filter(other -> other != connection)
+                    .min((a, b) -> Long.compare(a.openedAt, b.openedAt))
+                    .ifPresent(Connection::close);
+        }
+
+        // Flushes the response headers so the client sees the stream open right away
+        connection.offer(SseEmitter.event().comment("connected").build());
+        log.debug("Opened todo event stream for user ID: {}", userId);
+        return emitter;
+    }
+
+    @Override
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Set<Connection> userConnections = connections.get(event.getUserId());
+        if (userConnections == null || userConnections.isEmpty()) {
+            return;
+        }
+        TodoStreamEventDto payload = event.getType() == TodoChangedEvent.Type.DELETED
+                ? TodoStreamEventDto.builder()
+                        .type(TodoStreamEventDto.Type.DELETED)
+                        .todoId(event.getTodoId())
+                        .build()
+                : TodoStreamEventDto.builder()
+                        .type(TodoStreamEventDto.Type.valueOf(event.getType().name()))
+                        .todoId(event.getTodoId())
+                        .title(event.getTitle())
+                        .description(event.getDescription())
+                        .completed(event.getCompleted())
+                        .deadline(event.getDeadline())
+                        .createdAt(event.getCreatedAt())
+                        .build();
+        broadcast(userConnections, payload);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodoBulkChangedEvent event) {
+        Set<Connection> userConnections = connections.get(event.getUserId());
+        if (userConnections == null || userConnections.isEmpty()) {
+            return;
+        }
+        userConnections.forEach(Connection::resync);
+    }
+
+    @EventListener
+    public void onReminder(TodoReminderEvent event) {
+        Set<Connection> userConnections = connections.get(event.getUserId());
+        if (userConnections == null || userConnections.isEmpty()) {
+            return;
+        }
+        broadcast(userConnections, TodoStreamEventDto.builder()
+                .type(TodoStreamEventDto.Type.valueOf(event.getType().name()))
+                .todoId(event.getTodoId())
+                .title(event.getTitle())
+                .completed(false)
+                .deadline(event.getDeadline())
+                .build());
+    }
+
+    private void broadcast(Set<Connection> userConnections, TodoStreamEventDto payload) {
+        Set<DataWithMediaType> message = message(payload);
+        userConnections.forEach(connection -> connection.offer(message));
+    }
+
+    private Set<DataWithMediaType> message(TodoStreamEventDto payload) {
+        try {
+            return SseEmitter.event()
+                    .name(payload.getType().name().toLowerCase())
+                    .data(objectMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void sendHeartbeats() {
+        try {
+            connections.values().forEach(userConnections -> userConnections.forEach(Connection::heartbeat));
+        } catch (RuntimeException e) {
+            log.error("Failed to send todo event heartbeats", e);
+        }
+    }
+
+    private void dropStalled() {
+        try {
+            long now = System.nanoTime();
+            long timeout = TimeUnit.SECONDS.toNanos(writeTimeoutSeconds);
+            connections.values().forEach(userConnections -> userConnections.stream()
+                    .filter(connection -> connection.isStalled(now, timeout))
+                    .forEach(connection -> {
+                        log.debug("Closing todo event stream of user ID: {}, client stopped reading", connection.userId);
+                        connection.close();
+                    }));
+        } catch (RuntimeException e) {
+            log.error("Failed to check todo event streams for stalled writes", e);
+        }
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (userId, userConnections) -> {
+            if (userConnections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final long openedAt = System.nanoTime();
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        // System.nanoTime() when the current write started, 0 between writes
+        private volatile long sendingSince;
+
+        private Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(Set<DataWithMediaType> message) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(message)) {
+                log.debug("Todo event stream of user ID: {} is not keeping up, asking it to resync", userId);
+                resync();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        // A refetch covers everything still queued, so it all collapses into one message. A row message racing
+        // in ahead of it is harmless: the client applies it and then refetches anyway.
+        private void resync() {
+            if (closed.get()) {
+                return;
+            }
+            buffer.clear();
+            buffer.offer(resync);
+            scheduleDrain();
+        }
+
+        // Only needed to keep an idle stream open; a non-empty buffer is just drained
+        private void heartbeat() {
+            if (buffer.isEmpty()) {
+                offer(HEARTBEAT);
+            } else {
+                scheduleDrain();
+            }
+        }
+
+        private boolean isStalled(long now, long timeout) {
+            long since = sendingSince;
+            return since != 0 && now - since > timeout;
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        // At most one sender thread drains a connection at a time, which keeps its messages in order
+        private void drain() {
+            try {
+                Set<DataWithMediaType> message;
+                while (!closed.get() && (message = buffer.poll()) != null) {
+                    sendingSince = System.nanoTime();
+                    emitter.send(message);
+                    sendingSince = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Todo event stream of user ID: {} went away: {}", userId, e.getMessage());
+                sendingSince = 0;
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (closed.get()) {
+                // Possibly closed while this thread was blocked in a write, which holds the emitter's lock
+                completeEmitter();
+            } else if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                buffer.clear();
+                remove(this);
+                // A sender blocked in a write completes the emitter itself once the write returns or times out
+                if (sendingSince == 0) {
+                    completeEmitter();
+                }
+            }
+        }
+
+        private void completeEmitter() {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                log.debug("Todo event stream of user ID: {} was already completed", userId);
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.dto.TodoImportEventDto;
+import com.example.todoapp.dto.TodoRequestDto;
+import com.example.todoapp.event.TodoBulkChangedEvent;
+import com.example.todoapp.exception.AuthorizationException;
+import com.example.todoapp.exception.BadRequestException;
+import com.example.todoapp.repository.TodoJdbcRepository;
+import com.example.todoapp.repository.TodoRow;
+import com.example.todoapp.service.TodoCounterService;
+import com.example.todoapp.service.TodoImportService;
+import com.example.todoapp.util.CsvReader;
+import com.example.todoapp.util.SecurityUtil;
+import com.example.todoapp.util.WriteClock;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoImportServiceImpl implements TodoImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("title", "description", "completed", "deadline");
+
+    private final TodoJdbcRepository todoJdbcRepository;
+    private final TodoCounterService todoCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final WriteClock writeClock;
+
+    @Value("${app.todo.import.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void importCurrentUserTodos(InputStream body, Format format, Consumer<TodoImportEventDto> report) throws IOException {
+        Long userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            throw new AuthorizationException("User not authenticated");
+        }
+        log.info("Starting {} todo import for user ID: {}", format, userId);
+        
+        ImportRun run = new ImportRun(userId, report);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try {
+            if (format == Format.CSV) {
+                importCsv(reader, run);
+            } else {
+                importNdjson(reader, run);
+            }
+            run.flush();
+        } catch (BadRequestException e) {
+            // The stream cannot be resynchronised (e.g. an unterminated CSV quote), keep what was committed
+            run.aborted = true;
+            report.accept(TodoImportEventDto.builder()
+                    .type(TodoImportEventDto.Type.ERROR)
+                    .error(e.getMessage())
+                    .build());
+        }
+        
+        log.info("Todo import for user ID: {} finished: {} processed, {} imported, {} failed{}",
+                userId, run.processed, run.imported, run.failed, run.aborted ? " (aborted)" : "");
+        report.accept(run.progress(TodoImportEventDto.Type.SUMMARY).aborted(run.aborted).build());
+    }
+
+    private void importNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        // Exports from other tools carry extra fields (ids, timestamps) that are simply ignored
+        ObjectReader rowReader = objectMapper.readerFor(TodoRequestDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                run.add(lineNumber, rowReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                run.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void importCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new BadRequestException("CSV header must contain a title column, supported columns: " + CSV_COLUMNS);
+        }
+        
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            long lineNumber = csv.getRecordLineNumber();
+            try {
+                run.add(lineNumber, new TodoRequestDto(
+                        column(record, columns, "title"),
+                        column(record, columns, "description"),
+                        parseCompleted(column(record, columns, "completed")),
+                        parseDeadline(column(record, columns, "deadline"))));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                run.reject(lineNumber, e.getMessage());
+            }
+        }
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private Boolean parseCompleted(String value) {
+        if (value == null) {
+            return false;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true":
+            case "1":
+            case "yes":
+                return true;
+            case "false":
+            case "0":
+            case "no":
+                return false;
+            default:
+                throw new IllegalArgumentException("Invalid completed value: " + value);
+        }
+    }
+
+    private LocalDateTime parseDeadline(String value) {
+        return value != null ? LocalDateTime.parse(value.trim()) : null;
+    }
+
+    private String validate(TodoRequestDto request) {
+        Set<ConstraintViolation<TodoRequestDto>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // Per-request state; holds at most one batch of rows at a time
+    private class ImportRun {
+        private final Long userId;
+        private final Consumer<TodoImportEventDto> report;
+        private final List<TodoRow> batch = new ArrayList<>(batchSize);
+        private long processed;
+        private long imported;
+        private long failed;
+        private boolean aborted;
+
+        ImportRun(Long userId, Consumer<TodoImportEventDto> report) {
+            this.userId = userId;
+            this.report = report;
+        }
+
+        void add(long lineNumber, TodoRequestDto request) {
+            String error = validate(request);
+            if (error != null) {
+                reject(lineNumber, error);
+                return;
+            }
+            processed++;
+            LocalDateTime now = writeClock.now();
+            batch.add(new TodoRow(null, request.getTitle(), request.getDescription(),
+                    request.getCompleted() != null ? request.getCompleted() : false,
+                    request.getDeadline(), now, now));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long lineNumber, String error) {
+            processed++;
+            failed++;
+            report.accept(TodoImportEventDto.builder()
+                    .type(TodoImportEventDto.Type.ERROR)
+                    .line(lineNumber)
+                    .error(error)
+                    .build());
+        }
+
+        // One transaction per batch: JDBC insert batch, one counter delta, one bulk event published after commit
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                long changeVersion = todoCounterService.nextChangeVersion(userId);
+                todoJdbcRepository.insertAll(userId, batch, changeVersion);
+                long completed = 0;
+                long withDeadline = 0;
+                long completedWithDeadline = 0;
+                for (TodoRow todo : batch) {
+                    completed += todo.getCompleted() ? 1 : 0;
+                    withDeadline += todo.hasDeadline() ? 1 : 0;
+                    completedWithDeadline += todo.getCompleted() && todo.hasDeadline() ? 1 : 0;
+                }
+                todoCounterService.recordDelta(userId, batch.size(), completed, withDeadline, completedWithDeadline);
+                eventPublisher.publishEvent(new TodoBulkChangedEvent(userId));
+            });
+            imported += batch.size();
+            batch.clear();
+            report.accept(progress(TodoImportEventDto.Type.PROGRESS).build());
+        }
+
+        TodoImportEventDto.TodoImportEventDtoBuilder progress(TodoImportEventDto.Type type) {
+            return TodoImportEventDto.builder()
+                    .type(type)
+                    .processed(processed)
+                    .imported(imported)
+                    .failed(failed);
+        }
+    }
+}
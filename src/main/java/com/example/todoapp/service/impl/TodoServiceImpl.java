@@ -1,24 +1,77 @@
 package com.example.todoapp.service.impl;
 
+import com.example.todoapp.dto.TodoBatchItemResultDto;
+import com.example.todoapp.dto.TodoBatchOperationDto;
+import com.example.todoapp.dto.TodoBatchRequestDto;
+import com.example.todoapp.dto.TodoBatchResultDto;
+import com.example.todoapp.dto.TodoBulkResultDto;
+import com.example.todoapp.dto.TodoCalendarBucketDto;
+import com.example.todoapp.dto.TodoCalendarDto;
+import com.example.todoapp.dto.TodoChangesDto;
 import com.example.todoapp.dto.TodoRequestDto;
 import com.example.todoapp.dto.TodoResponseDto;
 import com.example.todoapp.dto.TodoDeadlineStatsDto;
 import com.example.todoapp.dto.TodoFilterDto;
+import com.example.todoapp.dto.TodoPageDto;
 import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoTombstone;
 import com.example.todoapp.entity.User;
+import com.example.todoapp.entity.UserTodoCounter;
+import com.example.todoapp.event.TodoBulkChangedEvent;
+import com.example.todoapp.event.TodoChangedEvent;
 import com.example.todoapp.exception.AuthorizationException;
+import com.example.todoapp.exception.BadRequestException;
 import com.example.todoapp.exception.ResourceNotFoundException;
+import com.example.todoapp.repository.TodoCalendarView;
+import com.example.todoapp.repository.TodoChangeRow;
+import com.example.todoapp.repository.TodoJdbcRepository;
+import com.example.todoapp.repository.TodoMutationRepository;
 import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoRow;
+import com.example.todoapp.repository.TodoSpecifications;
+import com.example.todoapp.repository.TodoStatsView;
+import com.example.todoapp.repository.TodoTombstoneRepository;
 import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.service.TodoCacheService;
+import com.example.todoapp.service.TodoCounterService;
+import com.example.todoapp.service.TodoDeadlineIndexService;
+import com.example.todoapp.service.TodoSearchService;
 import com.example.todoapp.service.TodoService;
+import com.example.todoapp.util.DeadlineClassifier;
+import com.example.todoapp.util.DeadlineStatus;
 import com.example.todoapp.util.SecurityUtil;
+import com.example.todoapp.util.TodoCursor;
+import com.example.todoapp.util.WriteClock;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,19 +80,45 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TodoServiceImpl implements TodoService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String SORT_CREATED_AT = "CREATED_AT";
+    private static final String SORT_DEADLINE = "DEADLINE";
+    private static final String SORT_TITLE = "TITLE";
+    // Upper bound on IN-list size for id-based bulk statements
+    private static final int ID_CHUNK_SIZE = 500;
+    private static final long MAX_CALENDAR_DAYS = 731;
+    
+    private static final Comparator<TodoRow> BY_DEADLINE =
+            Comparator.comparing(TodoRow::getDeadline).thenComparing(TodoRow::getId);
+
     private final TodoRepository todoRepository;
+    private final TodoJdbcRepository todoJdbcRepository;
+    private final TodoMutationRepository todoMutationRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
     private final UserRepository userRepository;
+    private final TodoCounterService todoCounterService;
+    private final TodoSearchService todoSearchService;
+    private final TodoCacheService todoCacheService;
+    private final TodoDeadlineIndexService todoDeadlineIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final DeadlineClassifier deadlineClassifier;
+    private final WriteClock writeClock;
 
     @Override
     @Transactional(readOnly = true)
-    public List<TodoResponseDto> getCurrentUserTodos() {
+    public TodoPageDto getCurrentUserTodos(String after, int limit) {
         Long userId = getCurrentUserId();
         log.debug("Fetching todos for user ID: {}", userId);
         
-        List<Todo> todos = todoRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return todos.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        int pageSize = normalizeLimit(limit);
+        TodoCursor cursor = after != null ? TodoCursor.decode(after) : TodoCursor.startDescending();
+        Optional<List<TodoRow>> cachedRows = todoCacheService.getRows(userId);
+        List<TodoRow> todos = cachedRows.isPresent()
+                ? seekCreatedAtDesc(cachedRows.get(), cursor, pageSize + 1)
+                : todoRepository.findPageByUserIdOrderByCreatedAtDesc(
+                        userId, cursor.getDateKey(), cursor.getId(), firstRows(pageSize + 1));
+        return toPage(todos, pageSize, this::createdAtCursor);
     }
 
     @Override
@@ -48,7 +127,7 @@ public class TodoServiceImpl implements TodoService {
         Long userId = getCurrentUserId();
         log.debug("Fetching todo ID: {} for user ID: {}", todoId, userId);
         
-        Todo todo = todoRepository.findByIdAndUserId(todoId, userId)
+        TodoRow todo = todoRepository.findRowByIdAndUserId(todoId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Todo not found with id: " + todoId));
         
         return convertToDto(todo);
@@ -59,6 +138,7 @@ public class TodoServiceImpl implements TodoService {
         Long userId = getCurrentUserId();
         log.debug("Creating todo for user ID: {}", userId);
         
+        long changeVersion = todoCounterService.nextChangeVersion(userId);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
@@ -68,8 +148,11 @@ public class TodoServiceImpl implements TodoService {
         todo.setCompleted(todoRequest.getCompleted() != null ? todoRequest.getCompleted() : false);
         todo.setDeadline(todoRequest.getDeadline());
         todo.setUser(user);
+        todo.setChangeVersion(changeVersion);
         
         Todo savedTodo = todoRepository.save(todo);
+        todoCounterService.recordCreated(userId, savedTodo.getCompleted(), savedTodo.hasDeadline());
+        eventPublisher.publishEvent(TodoChangedEvent.created(userId, savedTodo));
         log.info("Created todo ID: {} for user ID: {}", savedTodo.getId(), userId);
         
         return convertToDto(savedTodo);
@@ -80,15 +163,22 @@ public class TodoServiceImpl implements TodoService {
         Long userId = getCurrentUserId();
         log.debug("Updating todo ID: {} for user ID: {}", todoId, userId);
         
+        long changeVersion = todoCounterService.nextChangeVersion(userId);
         Todo todo = todoRepository.findByIdAndUserId(todoId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Todo not found with id: " + todoId));
         
+        boolean wasCompleted = todo.getCompleted();
+        boolean hadDeadline = todo.hasDeadline();
+        
         todo.setTitle(todoRequest.getTitle());
         todo.setDescription(todoRequest.getDescription());
         todo.setCompleted(todoRequest.getCompleted() != null ? todoRequest.getCompleted() : todo.getCompleted());
         todo.setDeadline(todoRequest.getDeadline());
+        todo.setChangeVersion(changeVersion);
         
         Todo updatedTodo = todoRepository.save(todo);
+        todoCounterService.recordChanged(userId, wasCompleted, hadDeadline, updatedTodo.getCompleted(), updatedTodo.hasDeadline());
+        eventPublisher.publishEvent(TodoChangedEvent.updated(userId, updatedTodo));
         log.info("Updated todo ID: {} for user ID: {}", todoId, userId);
         
         return convertToDto(updatedTodo);
@@ -99,11 +189,13 @@ public class TodoServiceImpl implements TodoService {
         Long userId = getCurrentUserId();
         log.debug("Deleting todo ID: {} for user ID: {}", todoId, userId);
         
-        if (!todoRepository.existsByIdAndUserId(todoId, userId)) {
-            throw new ResourceNotFoundException("Todo not found with id: " + todoId);
-        }
+        long changeVersion = todoCounterService.nextChangeVersion(userId);
+        todoTombstoneRepository.insertForTodos(List.of(todoId), userId, changeVersion, writeTimestamp());
+        TodoRow todo = todoMutationRepository.delete(todoId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Todo not found with id: " + todoId));
         
-        todoRepository.deleteById(todoId);
+        todoCounterService.recordDeleted(userId, todo.getCompleted(), todo.hasDeadline());
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(userId, todo));
         log.info("Deleted todo ID: {} for user ID: {}", todoId, userId);
     }
 
@@ -112,11 +204,15 @@ public class TodoServiceImpl implements TodoService {
         Long userId = getCurrentUserId();
         log.debug("Toggling completion for todo ID: {} for user ID: {}", todoId, userId);
         
-        Todo todo = todoRepository.findByIdAndUserId(todoId, userId)
+        LocalDateTime now = writeTimestamp();
+        long changeVersion = todoCounterService.nextChangeVersion(userId);
+        TodoRow todo = todoMutationRepository.toggleCompleted(todoId, userId, now, changeVersion)
                 .orElseThrow(() -> new ResourceNotFoundException("Todo not found with id: " + todoId));
         
-        todo.setCompleted(!todo.getCompleted());
-        Todo updatedTodo = todoRepository.save(todo);
+        TodoRow updatedTodo = todo.withCompleted(!todo.getCompleted(), now);
+        todoCounterService.recordChanged(userId, todo.getCompleted(), todo.hasDeadline(),
+                updatedTodo.getCompleted(), updatedTodo.hasDeadline());
+        eventPublisher.publishEvent(TodoChangedEvent.toggled(userId, updatedTodo));
         
         log.info("Toggled completion for todo ID: {} for user ID: {}", todoId, userId);
         return convertToDto(updatedTodo);
@@ -124,65 +220,98 @@ public class TodoServiceImpl implements TodoService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<TodoResponseDto> getCurrentUserTodosSortedByDeadline() {
+    public TodoPageDto getCurrentUserTodosSortedByDeadline(String after, int limit) {
         Long userId = getCurrentUserId();
-        List<Todo> todos = todoRepository.findByUserIdOrderByDeadlineAscNullsLast(userId);
-        return todos.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        int pageSize = normalizeLimit(limit);
+        TodoCursor cursor = after != null ? TodoCursor.decode(after) : TodoCursor.startAscending();
+        
+        // Nulls last: page through (deadline, id) first, then continue into the no-deadline tail by id
+        List<TodoRow> todos = new ArrayList<>();
+        long lastNullDeadlineId = 0L;
+        if (cursor.isNullKey()) {
+            lastNullDeadlineId = cursor.getId();
+        } else {
+            todos.addAll(todoRepository.findPageByUserIdAndDeadlineIsNotNullOrderByDeadlineAsc(
+                    userId, cursor.getDateKey(), cursor.getId(), firstRows(pageSize + 1)));
+        }
+        if (todos.size() <= pageSize) {
+            int remaining = pageSize - todos.size();
+            todos.addAll(todoRepository.findPageByUserIdAndDeadlineIsNullOrderByIdAsc(
+                    userId, lastNullDeadlineId, firstRows(remaining + 1)));
+        }
+        return toPage(todos, pageSize, this::deadlineCursor);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TodoResponseDto> getCurrentUserTodosWithDeadlines() {
+    public TodoPageDto getCurrentUserTodosWithDeadlines(String after, int limit) {
         Long userId = getCurrentUserId();
-        List<Todo> todos = todoRepository.findByUserIdAndDeadlineIsNotNullOrderByDeadlineAsc(userId);
-        return todos.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        int pageSize = normalizeLimit(limit);
+        TodoCursor cursor = after != null ? TodoCursor.decode(after) : TodoCursor.startAscending();
+        List<TodoRow> todos = todoRepository.findPageByUserIdAndDeadlineIsNotNullOrderByDeadlineAsc(
+                userId, cursor.getDateKey(), cursor.getId(), firstRows(pageSize + 1));
+        return toPage(todos, pageSize, this::deadlineCursor);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TodoResponseDto> getCurrentUserTodosWithoutDeadlines() {
+    public TodoPageDto getCurrentUserTodosWithoutDeadlines(String after, int limit) {
         Long userId = getCurrentUserId();
-        List<Todo> todos = todoRepository.findByUserIdAndDeadlineIsNullOrderByCreatedAtDesc(userId);
-        return todos.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        int pageSize = normalizeLimit(limit);
+        TodoCursor cursor = after != null ? TodoCursor.decode(after) : TodoCursor.startDescending();
+        List<TodoRow> todos = todoRepository.findPageByUserIdAndDeadlineIsNullOrderByCreatedAtDesc(
+                userId, cursor.getDateKey(), cursor.getId(), firstRows(pageSize + 1));
+        return toPage(todos, pageSize, this::createdAtCursor);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TodoResponseDto> getCurrentUserOverdueTodos() {
+    public TodoPageDto getCurrentUserOverdueTodos(String after, int limit) {
         Long userId = getCurrentUserId();
-        LocalDateTime now = LocalDateTime.now();
-        List<Todo> todos = todoRepository.findOverdueTodosByUserId(userId, now);
-        return todos.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        DeadlineClassifier.Snapshot snapshot = deadlineClassifier.snapshot();
+        LocalDateTime now = snapshot.getNow();
+        int pageSize = normalizeLimit(limit);
+        TodoCursor cursor = after != null ? TodoCursor.decode(after) : TodoCursor.startAscending();
+        Optional<List<Long>> candidates = todoDeadlineIndexService.findOpenCandidateIds(
+                userId, seekFrom(cursor, null), now, pageSize + 1);
+        List<TodoRow> todos = candidates.isPresent()
+                ? seekDeadlineAsc(findRows(userId, candidates.get()), todo -> isOpenBefore(todo, now), cursor, pageSize + 1)
+                : todoRepository.findOverduePageByUserId(
+                        userId, now, cursor.getDateKey(), cursor.getId(), firstRows(pageSize + 1));
+        return toPage(todos, pageSize, this::deadlineCursor, snapshot);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TodoResponseDto> getCurrentUserDueSoonTodos() {
+    public TodoPageDto getCurrentUserDueSoonTodos(String after, int limit) {
         Long userId = getCurrentUserId();
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime dueSoon = now.plusDays(1);
-        List<Todo> todos = todoRepository.findDueSoonTodosByUserId(userId, now, dueSoon);
-        return todos.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        DeadlineClassifier.Snapshot snapshot = deadlineClassifier.snapshot();
+        LocalDateTime now = snapshot.getNow();
+        LocalDateTime dueSoon = snapshot.getDueSoonThreshold();
+        int pageSize = normalizeLimit(limit);
+        TodoCursor cursor = after != null ? TodoCursor.decode(after) : TodoCursor.startAscending();
+        Optional<List<Long>> candidates = todoDeadlineIndexService.findOpenCandidateIds(
+                userId, seekFrom(cursor, now), dueSoon, pageSize + 1);
+        List<TodoRow> todos = candidates.isPresent()
+                ? seekDeadlineAsc(findRows(userId, candidates.get()), todo -> isOpenDueSoon(todo, now, dueSoon), cursor, pageSize + 1)
+                : todoRepository.findDueSoonPageByUserId(
+                        userId, now, dueSoon, cursor.getDateKey(), cursor.getId(), firstRows(pageSize + 1));
+        return toPage(todos, pageSize, this::deadlineCursor, snapshot);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TodoResponseDto> getCurrentUserTodosByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+    public TodoPageDto getCurrentUserTodosByDateRange(LocalDateTime startDate, LocalDateTime endDate, String after, int limit) {
         Long userId = getCurrentUserId();
-        List<Todo> todos = todoRepository.findTodosByUserIdAndDeadlineBetween(userId, startDate, endDate);
-        return todos.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        int pageSize = normalizeLimit(limit);
+        TodoCursor cursor = after != null ? TodoCursor.decode(after) : TodoCursor.startAscending();
+        Optional<List<Long>> candidates = todoDeadlineIndexService.findCandidateIds(
+                userId, seekFrom(cursor, startDate), endDate, pageSize + 1);
+        List<TodoRow> todos = candidates.isPresent()
+                ? seekDeadlineAsc(findRows(userId, candidates.get()), todo -> isBetween(todo, startDate, endDate), cursor, pageSize + 1)
+                : todoRepository.findPageByUserIdAndDeadlineBetween(
+                        userId, startDate, endDate, cursor.getDateKey(), cursor.getId(), firstRows(pageSize + 1));
+        return toPage(todos, pageSize, this::deadlineCursor);
     }
 
     @Override
@@ -190,11 +319,15 @@ public class TodoServiceImpl implements TodoService {
         Long userId = getCurrentUserId();
         log.debug("Setting deadline for todo ID: {} for user ID: {}", todoId, userId);
         
-        Todo todo = todoRepository.findByIdAndUserId(todoId, userId)
+        LocalDateTime now = writeTimestamp();
+        long changeVersion = todoCounterService.nextChangeVersion(userId);
+        TodoRow todo = todoMutationRepository.updateDeadline(todoId, userId, deadline, now, changeVersion)
                 .orElseThrow(() -> new ResourceNotFoundException("Todo not found with id: " + todoId));
         
-        todo.setDeadline(deadline);
-        Todo updatedTodo = todoRepository.save(todo);
+        TodoRow updatedTodo = todo.withDeadline(deadline, now);
+        todoCounterService.recordChanged(userId, todo.getCompleted(), todo.hasDeadline(),
+                updatedTodo.getCompleted(), updatedTodo.hasDeadline());
+        eventPublisher.publishEvent(TodoChangedEvent.updated(userId, updatedTodo));
         
         log.info("Set deadline for todo ID: {} for user ID: {}", todoId, userId);
         return convertToDto(updatedTodo);
@@ -205,67 +338,384 @@ public class TodoServiceImpl implements TodoService {
         Long userId = getCurrentUserId();
         log.debug("Removing deadline for todo ID: {} for user ID: {}", todoId, userId);
         
-        Todo todo = todoRepository.findByIdAndUserId(todoId, userId)
+        LocalDateTime now = writeTimestamp();
+        long changeVersion = todoCounterService.nextChangeVersion(userId);
+        TodoRow todo = todoMutationRepository.updateDeadline(todoId, userId, null, now, changeVersion)
                 .orElseThrow(() -> new ResourceNotFoundException("Todo not found with id: " + todoId));
         
-        todo.setDeadline(null);
-        Todo updatedTodo = todoRepository.save(todo);
+        TodoRow updatedTodo = todo.withDeadline(null, now);
+        todoCounterService.recordChanged(userId, todo.getCompleted(), todo.hasDeadline(),
+                updatedTodo.getCompleted(), false);
+        eventPublisher.publishEvent(TodoChangedEvent.updated(userId, updatedTodo));
         
         log.info("Removed deadline for todo ID: {} for user ID: {}", todoId, userId);
         return convertToDto(updatedTodo);
     }
 
+    @Override
+    public TodoBatchResultDto batchCurrentUserTodos(TodoBatchRequestDto batch) {
+        Long userId = getCurrentUserId();
+        LocalDateTime now = writeTimestamp();
+        DeadlineClassifier.Snapshot snapshot = DeadlineClassifier.Snapshot.at(now);
+        List<TodoBatchOperationDto> operations = batch.getOperations();
+        log.debug("Running batch of {} operations for user ID: {}", operations.size(), userId);
+        long changeVersion = todoCounterService.nextChangeVersion(userId);
+        
+        // One read for every existing todo the batch touches; operations then apply to this snapshot in order
+        Set<Long> ids = operations.stream()
+                .map(TodoBatchOperationDto::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, TodoRow> original = new HashMap<>();
+        for (List<Long> chunk : chunks(ids)) {
+            todoRepository.findRowsByIdInAndUserId(chunk, userId).forEach(todo -> original.put(todo.getId(), todo));
+        }
+        
+        Map<Long, TodoRow> current = new HashMap<>(original);
+        Set<Long> deleted = new HashSet<>();
+        List<TodoRow> created = new ArrayList<>();
+        List<TodoBatchItemResultDto> createdResults = new ArrayList<>();
+        List<TodoBatchItemResultDto> results = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TodoBatchOperationDto operation = operations.get(i);
+            TodoBatchItemResultDto result = TodoBatchItemResultDto.builder()
+                    .index(i)
+                    .op(operation.getOp())
+                    .id(operation.getId())
+                    .build();
+            results.add(result);
+            try {
+                TodoRow todo = applyBatchOperation(operation, current, now);
+                if (operation.getOp() == TodoBatchOperationDto.Op.CREATE) {
+                    created.add(todo);
+                    createdResults.add(result);
+                    result.setStatus(201);
+                } else if (operation.getOp() == TodoBatchOperationDto.Op.DELETE) {
+                    current.remove(operation.getId());
+                    deleted.add(operation.getId());
+                    result.setStatus(204);
+                } else {
+                    current.put(todo.getId(), todo);
+                    result.setStatus(200);
+                    result.setTodo(convertToDto(todo, snapshot));
+                }
+            } catch (BadRequestException e) {
+                result.setStatus(400);
+                result.setError(e.getMessage());
+            } catch (ResourceNotFoundException e) {
+                result.setStatus(404);
+                result.setError(e.getMessage());
+            }
+        }
+        
+        // Net effect only: a handful of statements however many operations touched each row
+        for (List<Long> chunk : chunks(deleted)) {
+            todoTombstoneRepository.insertForTodos(chunk, userId, changeVersion, now);
+            todoRepository.deleteByIdInAndUserId(chunk, userId);
+        }
+        List<TodoRow> updated = current.values().stream()
+                .filter(todo -> todo != original.get(todo.getId()))
+                .collect(Collectors.toList());
+        todoJdbcRepository.updateAll(userId, updated, changeVersion);
+        List<Long> createdIds = todoJdbcRepository.insertAll(userId, created, changeVersion);
+        
+        long[] delta = new long[4];
+        for (int i = 0; i < created.size(); i++) {
+            TodoRow todo = created.get(i).withId(createdIds.get(i));
+            TodoBatchItemResultDto result = createdResults.get(i);
+            result.setId(todo.getId());
+            result.setTodo(convertToDto(todo, snapshot));
+            addCounts(delta, todo, 1);
+        }
+        for (TodoRow todo : updated) {
+            addCounts(delta, original.get(todo.getId()), -1);
+            addCounts(delta, todo, 1);
+        }
+        for (Long id : deleted) {
+            addCounts(delta, original.get(id), -1);
+        }
+        todoCounterService.recordDelta(userId, delta[0], delta[1], delta[2], delta[3]);
+        if (!created.isEmpty() || !updated.isEmpty() || !deleted.isEmpty()) {
+            eventPublisher.publishEvent(new TodoBulkChangedEvent(userId));
+        }
+        
+        int failed = (int) results.stream().filter(result -> result.getError() != null).count();
+        log.info("Batch for user ID: {} created {}, updated {}, deleted {}, failed {}",
+                userId, created.size(), updated.size(), deleted.size(), failed);
+        return TodoBatchResultDto.builder()
+                .results(results)
+                .succeeded(results.size() - failed)
+                .failed(failed)
+                .build();
+    }
+
+    @Override
+    public TodoBulkResultDto completeCurrentUserOverdueTodos() {
+        Long userId = getCurrentUserId();
+        LocalDateTime now = writeTimestamp();
+        long changeVersion = todoCounterService.nextChangeVersion(userId);
+        
+        int affected = todoRepository.completeOverdueByUserId(userId, now, changeVersion);
+        // Overdue todos always have a deadline
+        todoCounterService.recordDelta(userId, 0, affected, 0, affected);
+        if (affected > 0) {
+            eventPublisher.publishEvent(new TodoBulkChangedEvent(userId));
+        }
+        
+        log.info("Completed {} overdue todos for user ID: {}", affected, userId);
+        return new TodoBulkResultDto(affected);
+    }
+
+    @Override
+    public TodoBulkResultDto deleteCurrentUserCompletedTodos() {
+        Long userId = getCurrentUserId();
+        LocalDateTime now = writeTimestamp();
+        // Allocated first: the counter row lock keeps this user's other writes out until commit, so the three
+        // statements below all see the same completed todos and tombstones match the deleted rows exactly
+        long changeVersion = todoCounterService.nextChangeVersion(userId);
+        
+        long withDeadline = todoRepository.countCompletedWithDeadlineByUserId(userId);
+        todoTombstoneRepository.insertForCompletedTodos(userId, changeVersion, now);
+        int affected = todoRepository.deleteCompletedByUserId(userId);
+        todoCounterService.recordDelta(userId, -affected, -affected, -withDeadline, -withDeadline);
+        if (affected > 0) {
+            eventPublisher.publishEvent(new TodoBulkChangedEvent(userId));
+        }
+        
+        log.info("Deleted {} completed todos for user ID: {}", affected, userId);
+        return new TodoBulkResultDto(affected);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public TodoDeadlineStatsDto getCurrentUserTodoStats() {
         Long userId = getCurrentUserId();
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = deadlineClassifier.snapshot().getNow();
+        LocalDateTime weekStart = now.toLocalDate().with(DayOfWeek.MONDAY).atStartOfDay();
+        LocalDateTime monthStart = now.toLocalDate().withDayOfMonth(1).atStartOfDay();
         
-        long totalTodos = todoRepository.countByUserId(userId);
-        long todosWithDeadlines = todoRepository.countTodosWithDeadlineByUserId(userId);
-        long overdueTodos = todoRepository.countOverdueTodosByUserId(userId, now);
-        long dueSoonTodos = todoRepository.findDueSoonTodosByUserId(userId, now, now.plusDays(1)).size();
+        // Counts come from the incrementally maintained counters, only deadline-relative fields hit todos
+        UserTodoCounter counters = todoCounterService.getCounters(userId);
+        Optional<List<TodoRow>> cachedRows = todoCacheService.getRows(userId);
+        TodoStatsView stats = cachedRows.isPresent()
+                ? aggregateDeadlineStats(cachedRows.get(), now, weekStart, monthStart)
+                : todoRepository.aggregateDeadlineStatsByUserId(
+                        userId, now, now.plusDays(1),
+                        weekStart, weekStart.plusWeeks(1),
+                        monthStart, monthStart.plusMonths(1));
         
-        double deadlineCompletionRate = todosWithDeadlines > 0 ? 
-            (double) todoRepository.countByUserIdAndCompleted(userId, true) / todosWithDeadlines * 100 : 0.0;
+        long totalTodos = counters.getTotalTodos();
+        long todosWithDeadlines = counters.getTodosWithDeadline();
+        long completedWithDeadlines = counters.getCompletedWithDeadline();
+        double deadlineCompletionRate = todosWithDeadlines > 0 ?
+            (double) completedWithDeadlines / todosWithDeadlines * 100 : 0.0;
         
         return TodoDeadlineStatsDto.builder()
                 .totalTodos(totalTodos)
                 .todosWithDeadlines(todosWithDeadlines)
                 .todosWithoutDeadlines(totalTodos - todosWithDeadlines)
-                .overdueTodos(overdueTodos)
-                .dueSoonTodos(dueSoonTodos)
+                .overdueTodos(valueOf(stats.getOverdueTodos()))
+                .dueSoonTodos(valueOf(stats.getDueSoonTodos()))
+                .completedWithDeadlines(completedWithDeadlines)
                 .deadlineCompletionRate(deadlineCompletionRate)
+                .nextDeadline(stats.getNextDeadline())
+                .todosThisWeek(valueOf(stats.getTodosThisWeek()))
+                .todosThisMonth(valueOf(stats.getTodosThisMonth()))
                 .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TodoResponseDto> searchCurrentUserTodos(String keyword) {
+    public TodoCalendarDto getCurrentUserTodoCalendar(LocalDate from, LocalDate to, TodoCalendarDto.Granularity granularity) {
         Long userId = getCurrentUserId();
-        List<Todo> todos = todoRepository.searchTodosByUserIdAndKeyword(userId, keyword);
-        return todos.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        if (to.isBefore(from)) {
+            throw new BadRequestException("Calendar end date must not be before its start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new BadRequestException("Calendar range must not exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+        LocalDateTime now = deadlineClassifier.snapshot().getNow();
+        
+        // The database returns at most one row per day; weeks are summed from those here
+        List<TodoCalendarView> days = todoRepository.countByDeadlineDate(
+                userId, from.atStartOfDay(), to.plusDays(1).atStartOfDay(), now);
+        List<TodoCalendarBucketDto> buckets = new ArrayList<>();
+        TodoCalendarBucketDto current = null;
+        for (TodoCalendarView day : days) {
+            LocalDate date = granularity == TodoCalendarDto.Granularity.WEEK
+                    ? day.getBucket().with(DayOfWeek.MONDAY)
+                    : day.getBucket();
+            if (current == null || !current.getDate().equals(date)) {
+                current = TodoCalendarBucketDto.builder().date(date).build();
+                buckets.add(current);
+            }
+            current.setOpenTodos(current.getOpenTodos() + valueOf(day.getOpenTodos()));
+            current.setCompletedTodos(current.getCompletedTodos() + valueOf(day.getCompletedTodos()));
+            current.setOverdueTodos(current.getOverdueTodos() + valueOf(day.getOverdueTodos()));
+        }
+        
+        return TodoCalendarDto.builder()
+                .granularity(granularity)
+                .from(from)
+                .to(to)
+                .buckets(buckets)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TodoResponseDto> filterCurrentUserTodos(TodoFilterDto filter) {
+    public TodoChangesDto getCurrentUserTodoChanges(Long since, String after, int limit) {
         Long userId = getCurrentUserId();
-        List<Todo> todos = todoRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        
-        // Apply filters
-        return todos.stream()
-                .filter(todo -> filter.getCompleted() == null || todo.getCompleted().equals(filter.getCompleted()))
-                .filter(todo -> filter.getHasDeadline() == null || 
-                    (filter.getHasDeadline() ? todo.hasDeadline() : !todo.hasDeadline()))
-                .filter(todo -> filter.getOverdueOnly() == null || 
-                    (filter.getOverdueOnly() ? todo.isOverdue() : true))
-                .filter(todo -> filter.getDueSoonOnly() == null || 
-                    (filter.getDueSoonOnly() ? todo.isDueSoon() : true))
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        int pageSize = normalizeLimit(limit);
+        if (since != null && since < 0) {
+            throw new BadRequestException("Version must not be negative");
+        }
+        
+        // Read before the rows: every version up to this one has committed, later ones sort after the cursor
+        UserTodoCounter counters = todoCounterService.getCounters(userId);
+        long version = counters.getChangeVersion();
+        if (since != null && (since < counters.getTombstonesPurgedVersion() || since > version)) {
+            log.debug("Delta sync from version {} needs a resync for user ID: {}", since, userId);
+            return resyncRequired(version, pageSize);
+        }
+        
+        // Keyset over (change_version, id); todos and tombstones never share an id, so the merge is a total order
+        TodoCursor cursor = after != null ? TodoCursor.decode(after) : null;
+        long afterVersion = cursor != null ? parseVersion(cursor) : (since != null ? since : -1L);
+        long afterId = cursor != null ? cursor.getId() : Long.MAX_VALUE;
+        List<TodoChangeRow> rows = todoRepository.findChangedPageByUserId(
+                userId, afterVersion, afterId, firstRows(pageSize + 1));
+        List<TodoTombstone> tombstones = since != null
+                ? todoTombstoneRepository.findPageByUserId(userId, afterVersion, afterId, firstRows(pageSize + 1))
+                : List.of();
+        
+        DeadlineClassifier.Snapshot snapshot = deadlineClassifier.snapshot();
+        List<TodoResponseDto> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        int r = 0;
+        int t = 0;
+        long lastVersion = afterVersion;
+        long lastId = afterId;
+        while (changed.size() + deleted.size() < pageSize && (r < rows.size() || t < tombstones.size())) {
+            TodoChangeRow row = r < rows.size() ? rows.get(r) : null;
+            TodoTombstone tombstone = t < tombstones.size() ? tombstones.get(t) : null;
+            boolean takeRow = tombstone == null || (row != null
+                    && (row.getChangeVersion() < tombstone.getChangeVersion()
+                        || (row.getChangeVersion() == tombstone.getChangeVersion()
+                            && row.getRow().getId() < tombstone.getTodoId())));
+            if (takeRow) {
+                changed.add(convertToDto(row.getRow(), snapshot));
+                lastVersion = row.getChangeVersion();
+                lastId = row.getRow().getId();
+                r++;
+            } else {
+                deleted.add(tombstone.getTodoId());
+                lastVersion = tombstone.getChangeVersion();
+                lastId = tombstone.getTodoId();
+                t++;
+            }
+        }
+        boolean hasMore = r < rows.size() || t < tombstones.size();
+        
+        // A purge that committed while the tombstones were read may have removed some of them
+        if (since != null && since < todoCounterService.getTombstonesPurgedVersion(userId)) {
+            log.debug("Tombstones purged during delta sync for user ID: {}", userId);
+            return resyncRequired(version, pageSize);
+        }
+        
+        return TodoChangesDto.builder()
+                .changed(changed)
+                .deleted(deleted)
+                .version(version)
+                .nextCursor(hasMore ? TodoCursor.of(String.valueOf(lastVersion), lastId).encode() : null)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TodoPageDto searchCurrentUserTodos(String keyword, String after, int limit) {
+        Long userId = getCurrentUserId();
+        int pageSize = normalizeLimit(limit);
+        // Ranked results are paged by position; the cursor key holds the offset of the next hit
+        int offset = after != null ? parseOffset(TodoCursor.decode(after)) : 0;
+        
+        List<Long> rankedIds = todoSearchService.search(userId, keyword);
+        int end = Math.min(offset + pageSize, rankedIds.size());
+        List<Long> pageIds = offset < end ? rankedIds.subList(offset, end) : List.of();
+        
+        Map<Long, TodoRow> todosById = todoRepository.findRowsByIdInAndUserId(pageIds, userId).stream()
+                .collect(Collectors.toMap(TodoRow::getId, Function.identity()));
+        boolean hasMore = end < rankedIds.size();
+        DeadlineClassifier.Snapshot snapshot = deadlineClassifier.snapshot();
+        
+        return TodoPageDto.builder()
+                .items(pageIds.stream()
+                        .map(todosById::get)
+                        .filter(Objects::nonNull)
+                        .map(todo -> convertToDto(todo, snapshot))
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? TodoCursor.of(String.valueOf(end), pageIds.get(pageIds.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TodoPageDto filterCurrentUserTodos(TodoFilterDto filter, String after, int limit) {
+        Long userId = getCurrentUserId();
+        int pageSize = normalizeLimit(limit);
+        String sortBy = filter.getSortBy() != null ? filter.getSortBy().toUpperCase() : SORT_CREATED_AT;
+        boolean ascending = isAscending(sortBy, filter.getSortDirection());
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        TodoCursor cursor = after != null ? TodoCursor.decode(after) : null;
+        DeadlineClassifier.Snapshot snapshot = deadlineClassifier.snapshot();
+        Specification<Todo> criteria = buildFilterSpecification(userId, filter, snapshot.getNow());
+        
+        switch (sortBy) {
+            case SORT_CREATED_AT: {
+                Specification<Todo> seek = cursor != null
+                        ? TodoSpecifications.after("createdAt", cursor.getDateKey(), cursor.getId(), ascending)
+                        : null;
+                List<TodoRow> todos = findFiltered(criteria, seek, Sort.by(direction, "createdAt", "id"), pageSize + 1);
+                return toPage(todos, pageSize, this::createdAtCursor, snapshot);
+            }
+            case SORT_TITLE: {
+                Specification<Todo> seek = cursor != null
+                        ? TodoSpecifications.after("title", cursor.getKey(), cursor.getId(), ascending)
+                        : null;
+                List<TodoRow> todos = findFiltered(criteria, seek, Sort.by(direction, "title", "id"), pageSize + 1);
+                return toPage(todos, pageSize, todo -> TodoCursor.of(todo.getTitle(), todo.getId()), snapshot);
+            }
+            case SORT_DEADLINE: {
+                // Nulls last in both directions: (deadline, id) first, then the no-deadline tail by id
+                List<TodoRow> todos = new ArrayList<>();
+                Specification<Todo> nullTailSeek = null;
+                if (cursor != null && cursor.isNullKey()) {
+                    nullTailSeek = TodoSpecifications.afterId(cursor.getId(), ascending);
+                } else {
+                    Specification<Todo> seek = cursor != null
+                            ? TodoSpecifications.after("deadline", cursor.getDateKey(), cursor.getId(), ascending)
+                            : null;
+                    todos.addAll(findFiltered(criteria.and(TodoSpecifications.hasDeadline(true)), seek,
+                            Sort.by(direction, "deadline", "id"), pageSize + 1));
+                }
+                if (todos.size() <= pageSize) {
+                    int remaining = pageSize - todos.size();
+                    todos.addAll(findFiltered(criteria.and(TodoSpecifications.hasDeadline(false)), nullTailSeek,
+                            Sort.by(direction, "id"), remaining + 1));
+                }
+                return toPage(todos, pageSize, this::deadlineCursor, snapshot);
+            }
+            default:
+                throw new BadRequestException("Unsupported sortBy: " + filter.getSortBy());
+        }
+    }
+
+    private LocalDateTime writeTimestamp() {
+        return writeClock.now();
     }
 
     private Long getCurrentUserId() {
@@ -276,8 +726,290 @@ public class TodoServiceImpl implements TodoService {
         return userId;
     }
 
+    private Specification<Todo> buildFilterSpecification(Long userId, TodoFilterDto filter, LocalDateTime now) {
+        List<Specification<Todo>> specs = new ArrayList<>();
+        specs.add(TodoSpecifications.belongsTo(userId));
+        if (filter.getCompleted() != null) {
+            specs.add(TodoSpecifications.completed(filter.getCompleted()));
+        }
+        if (filter.getHasDeadline() != null) {
+            specs.add(TodoSpecifications.hasDeadline(filter.getHasDeadline()));
+        }
+        if (filter.getDeadlineFrom() != null) {
+            specs.add(TodoSpecifications.deadlineFrom(filter.getDeadlineFrom()));
+        }
+        if (filter.getDeadlineTo() != null) {
+            specs.add(TodoSpecifications.deadlineTo(filter.getDeadlineTo()));
+        }
+        if (Boolean.TRUE.equals(filter.getOverdueOnly())) {
+            specs.add(TodoSpecifications.overdue(now));
+        }
+        if (Boolean.TRUE.equals(filter.getDueSoonOnly())) {
+            specs.add(TodoSpecifications.dueSoon(now, now.plusDays(1)));
+        }
+        return Specification.allOf(specs);
+    }
+
+    private boolean isAscending(String sortBy, String sortDirection) {
+        if (sortDirection == null) {
+            // Newest first for creation time, earliest/alphabetical first otherwise
+            return !SORT_CREATED_AT.equals(sortBy);
+        }
+        switch (sortDirection.toUpperCase()) {
+            case "ASC":
+                return true;
+            case "DESC":
+                return false;
+            default:
+                throw new BadRequestException("Unsupported sortDirection: " + sortDirection);
+        }
+    }
+
+    private List<TodoRow> findFiltered(Specification<Todo> criteria, Specification<Todo> seek, Sort sort, int rows) {
+        Specification<Todo> spec = seek != null ? criteria.and(seek) : criteria;
+        return todoRepository.findRows(spec, sort, rows);
+    }
+
+    // Returns the todo as it stands after the operation; deletes return the row being removed
+    private TodoRow applyBatchOperation(TodoBatchOperationDto operation, Map<Long, TodoRow> current, LocalDateTime now) {
+        if (operation.getOp() == TodoBatchOperationDto.Op.CREATE) {
+            TodoRequestDto request = validated(operation);
+            return new TodoRow(null, request.getTitle(), request.getDescription(),
+                    request.getCompleted() != null ? request.getCompleted() : false,
+                    request.getDeadline(), now, now);
+        }
+        if (operation.getId() == null) {
+            throw new BadRequestException("Operation " + operation.getOp() + " requires an id");
+        }
+        TodoRow todo = current.get(operation.getId());
+        if (todo == null) {
+            throw new ResourceNotFoundException("Todo not found with id: " + operation.getId());
+        }
+        switch (operation.getOp()) {
+            case UPDATE: {
+                TodoRequestDto request = validated(operation);
+                return new TodoRow(todo.getId(), request.getTitle(), request.getDescription(),
+                        request.getCompleted() != null ? request.getCompleted() : todo.getCompleted(),
+                        request.getDeadline(), todo.getCreatedAt(), now);
+            }
+            case TOGGLE:
+                return todo.withCompleted(!todo.getCompleted(), now);
+            case SET_DEADLINE:
+                return todo.withDeadline(operation.getDeadline(), now);
+            case DELETE:
+                return todo;
+            default:
+                throw new BadRequestException("Unsupported operation: " + operation.getOp());
+        }
+    }
+
+    // Same constraints as the single-item endpoints, reported per item instead of failing the batch
+    private TodoRequestDto validated(TodoBatchOperationDto operation) {
+        TodoRequestDto request = new TodoRequestDto(operation.getTitle(), operation.getDescription(),
+                operation.getCompleted(), operation.getDeadline());
+        Set<ConstraintViolation<TodoRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return request;
+    }
+
+    // delta = {total, completed, withDeadline, completedWithDeadline}
+    private void addCounts(long[] delta, TodoRow todo, int sign) {
+        delta[0] += sign;
+        delta[1] += todo.getCompleted() ? sign : 0;
+        delta[2] += todo.hasDeadline() ? sign : 0;
+        delta[3] += todo.getCompleted() && todo.hasDeadline() ? sign : 0;
+    }
+
+    private List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += ID_CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(from + ID_CHUNK_SIZE, all.size())));
+        }
+        return chunks;
+    }
+
+    // In-memory mirrors of the seek queries, run over the cached rows (which are newest first)
+    private List<TodoRow> seekCreatedAtDesc(List<TodoRow> rows, TodoCursor cursor, int limit) {
+        LocalDateTime key = cursor.getDateKey();
+        return rows.stream()
+                .filter(todo -> todo.getCreatedAt().isBefore(key)
+                        || (todo.getCreatedAt().isEqual(key) && todo.getId() < cursor.getId()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private List<TodoRow> seekDeadlineAsc(List<TodoRow> rows, Predicate<TodoRow> criteria, TodoCursor cursor, int limit) {
+        LocalDateTime key = cursor.getDateKey();
+        return rows.stream()
+                .filter(criteria)
+                .filter(todo -> todo.getDeadline().isAfter(key)
+                        || (todo.getDeadline().isEqual(key) && todo.getId() > cursor.getId()))
+                .sorted(BY_DEADLINE)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    // Lower bound of a deadline-ordered seek: the cursor position, or the range start if that lies further on
+    private LocalDateTime seekFrom(TodoCursor cursor, LocalDateTime rangeStart) {
+        LocalDateTime key = cursor.getDateKey();
+        if (key == null) {
+            throw new BadRequestException("Invalid cursor for a deadline range");
+        }
+        return rangeStart != null && rangeStart.isAfter(key) ? rangeStart : key;
+    }
+
+    // Rows behind deadline index candidates; the index only narrows the range, callers apply the exact predicate
+    private List<TodoRow> findRows(Long userId, List<Long> ids) {
+        List<TodoRow> rows = new ArrayList<>(ids.size());
+        for (List<Long> chunk : chunks(ids)) {
+            rows.addAll(todoRepository.findRowsByIdInAndUserId(chunk, userId));
+        }
+        return rows;
+    }
+
+    private boolean isOpenBefore(TodoRow todo, LocalDateTime now) {
+        return todo.hasDeadline() && !todo.getCompleted() && todo.getDeadline().isBefore(now);
+    }
+
+    // Exclusive on both ends, the due-soon window of DeadlineClassifier and the due-soon queries
+    private boolean isOpenDueSoon(TodoRow todo, LocalDateTime now, LocalDateTime dueSoon) {
+        return todo.hasDeadline() && !todo.getCompleted()
+                && todo.getDeadline().isAfter(now) && todo.getDeadline().isBefore(dueSoon);
+    }
+
+    private boolean isBetween(TodoRow todo, LocalDateTime from, LocalDateTime to) {
+        return todo.hasDeadline() && !todo.getDeadline().isBefore(from) && !todo.getDeadline().isAfter(to);
+    }
+
+    private TodoStatsView aggregateDeadlineStats(List<TodoRow> rows, LocalDateTime now,
+                                                 LocalDateTime weekStart, LocalDateTime monthStart) {
+        LocalDateTime dueSoon = now.plusDays(1);
+        LocalDateTime weekEnd = weekStart.plusWeeks(1);
+        LocalDateTime monthEnd = monthStart.plusMonths(1);
+        long overdue = 0;
+        long dueSoonCount = 0;
+        long thisWeek = 0;
+        long thisMonth = 0;
+        LocalDateTime nextDeadline = null;
+        for (TodoRow todo : rows) {
+            if (!todo.hasDeadline()) {
+                continue;
+            }
+            LocalDateTime deadline = todo.getDeadline();
+            if (isOpenBefore(todo, now)) overdue++;
+            if (isOpenDueSoon(todo, now, dueSoon)) dueSoonCount++;
+            if (!todo.getCompleted() && !deadline.isBefore(now)
+                    && (nextDeadline == null || deadline.isBefore(nextDeadline))) {
+                nextDeadline = deadline;
+            }
+            if (!deadline.isBefore(weekStart) && deadline.isBefore(weekEnd)) thisWeek++;
+            if (!deadline.isBefore(monthStart) && deadline.isBefore(monthEnd)) thisMonth++;
+        }
+        return new CachedTodoStats(overdue, dueSoonCount, nextDeadline, thisWeek, thisMonth);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedTodoStats implements TodoStatsView {
+        private final Long overdueTodos;
+        private final Long dueSoonTodos;
+        private final LocalDateTime nextDeadline;
+        private final Long todosThisWeek;
+        private final Long todosThisMonth;
+    }
+
+    private int parseOffset(TodoCursor cursor) {
+        try {
+            int offset = Integer.parseInt(cursor.getKey());
+            if (offset < 0) {
+                throw new BadRequestException("Invalid cursor offset: " + offset);
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor key: " + cursor.getKey(), e);
+        }
+    }
+
+    private TodoChangesDto resyncRequired(long version, int limit) {
+        return TodoChangesDto.builder()
+                .changed(List.of())
+                .deleted(List.of())
+                .version(version)
+                .resyncRequired(true)
+                .limit(limit)
+                .build();
+    }
+
+    private long parseVersion(TodoCursor cursor) {
+        try {
+            return Long.parseLong(cursor.getKey());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor key: " + cursor.getKey(), e);
+        }
+    }
+
+    // SUM over an empty set is NULL
+    private long valueOf(Long aggregate) {
+        return aggregate != null ? aggregate : 0L;
+    }
+
+    private int normalizeLimit(int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private Pageable firstRows(int rows) {
+        return PageRequest.of(0, rows);
+    }
+
+    // Rows are fetched with one extra element to detect whether another page exists
+    private TodoPageDto toPage(List<TodoRow> todos, int pageSize, Function<TodoRow, TodoCursor> cursorOf) {
+        return toPage(todos, pageSize, cursorOf, deadlineClassifier.snapshot());
+    }
+
+    private TodoPageDto toPage(List<TodoRow> todos, int pageSize, Function<TodoRow, TodoCursor> cursorOf,
+                               DeadlineClassifier.Snapshot snapshot) {
+        boolean hasMore = todos.size() > pageSize;
+        List<TodoRow> pageItems = hasMore ? todos.subList(0, pageSize) : todos;
+        String nextCursor = hasMore ? cursorOf.apply(pageItems.get(pageItems.size() - 1)).encode() : null;
+        
+        return TodoPageDto.builder()
+                .items(pageItems.stream()
+                        .map(todo -> convertToDto(todo, snapshot))
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
+    }
+
+    private TodoCursor createdAtCursor(TodoRow todo) {
+        return TodoCursor.of(todo.getCreatedAt(), todo.getId());
+    }
+
+    private TodoCursor deadlineCursor(TodoRow todo) {
+        return TodoCursor.of(todo.getDeadline(), todo.getId());
+    }
+
     private TodoResponseDto convertToDto(Todo todo) {
-        String deadlineStatus = determineDeadlineStatus(todo);
+        return convertToDto(TodoRow.from(todo));
+    }
+
+    private TodoResponseDto convertToDto(TodoRow todo) {
+        return convertToDto(todo, deadlineClassifier.snapshot());
+    }
+
+    // All status fields come from one classification against the caller's clock snapshot
+    private TodoResponseDto convertToDto(TodoRow todo, DeadlineClassifier.Snapshot snapshot) {
+        DeadlineStatus status = snapshot.classify(todo.getDeadline(), todo.getCompleted());
         
         return new TodoResponseDto(
                 todo.getId(),
@@ -286,24 +1018,11 @@ public class TodoServiceImpl implements TodoService {
                 todo.getCompleted(),
                 todo.getDeadline(),
                 todo.hasDeadline(),
-                todo.isOverdue(),
-                todo.isDueSoon(),
-                deadlineStatus,
+                status == DeadlineStatus.OVERDUE,
+                status == DeadlineStatus.DUE_SOON,
+                status.name(),
                 todo.getCreatedAt(),
                 todo.getUpdatedAt()
         );
     }
-
-    private String determineDeadlineStatus(Todo todo) {
-        if (!todo.hasDeadline()) {
-            return "NO_DEADLINE";
-        }
-        if (todo.isOverdue()) {
-            return "OVERDUE";
-        }
-        if (todo.isDueSoon()) {
-            return "DUE_SOON";
-        }
-        return "ON_TIME";
-    }
 }
@@ -0,0 +1,71 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.entity.TodoTombstone;
+import com.example.todoapp.repository.TodoTombstoneRepository;
+import com.example.todoapp.repository.UserTodoCounterRepository;
+import com.example.todoapp.service.TodoTombstoneService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoTombstoneServiceImpl implements TodoTombstoneService {
+
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final UserTodoCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Value("${app.todo.tombstones.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${app.todo.tombstones.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    @Override
+    @Scheduled(cron = "${app.todo.tombstones.purge-cron:0 30 3 * * *}")
+    public int purgeExpiredTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(retentionDays);
+        log.info("Purging todo tombstones deleted before {}", cutoff);
+        
+        int purged = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> purgeBatch(cutoff));
+            if (batch == null || batch == 0) {
+                break;
+            }
+            purged += batch;
+        }
+        
+        log.info("Purged {} todo tombstones", purged);
+        return purged;
+    }
+
+    private int purgeBatch(LocalDateTime cutoff) {
+        List<TodoTombstone> expired = todoTombstoneRepository.findExpired(cutoff, PageRequest.of(0, purgeBatchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        
+        // Raise the purged version in the same transaction, so no client can sync past the removed deletes
+        Map<Long, Long> maxVersionByUser = new HashMap<>();
+        for (TodoTombstone tombstone : expired) {
+            maxVersionByUser.merge(tombstone.getUserId(), tombstone.getChangeVersion(), Math::max);
+        }
+        maxVersionByUser.forEach(counterRepository::raiseTombstonesPurgedVersion);
+        
+        return todoTombstoneRepository.deleteByTodoIdIn(expired.stream().map(TodoTombstone::getTodoId).toList());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.exception.AuthorizationException;
+import com.example.todoapp.service.TodoCounterService;
+import com.example.todoapp.service.TodoVersionService;
+import com.example.todoapp.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+
+// Tags come from user_todo_counters.change_version, which every todo write increments in its own transaction.
+// Every instance therefore agrees on them, and restarts never reuse one.
+@Service
+@RequiredArgsConstructor
+public class TodoVersionServiceImpl implements TodoVersionService {
+
+    private final TodoCounterService todoCounterService;
+    private final Clock clock;
+
+    // Every response carries overdue/due-soon flags, so tags roll over with the clock as well
+    @Value("${app.todo.etag.time-bucket-seconds:60}")
+    private long timeBucketSeconds;
+
+    @Override
+    public long getVersion(Long userId) {
+        return todoCounterService.getChangeVersion(userId);
+    }
+
+    // Read before the rows: a write committing in between only makes the tag older than the body, which costs
+    // the client one extra full response but never a stale 304
+    @Override
+    public String getCurrentUserETag() {
+        Long userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            throw new AuthorizationException("User not authenticated");
+        }
+        long timeBucket = clock.millis() / 1000 / timeBucketSeconds;
+        return "\"" + userId + "-" + getVersion(userId) + "-" + timeBucket + "\"";
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.dto.common.CacheStatsDto;
+import com.example.todoapp.entity.RevokedAccessToken;
+import com.example.todoapp.repository.RevokedAccessTokenRepository;
+import com.example.todoapp.security.ParsedToken;
+import com.example.todoapp.service.JwtService;
+import com.example.todoapp.service.TokenVerificationService;
+import com.example.todoapp.util.TokenHasher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenVerificationServiceImpl implements TokenVerificationService {
+
+    private final JwtService jwtService;
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Value("${app.auth.token-cache.max-entries:100000}")
+    private long maxEntries;
+
+    // Bounds how long another instance keeps accepting a token after a logout it did not handle
+    @Value("${app.auth.revoked-tokens.poll-interval-ms:5000}")
+    private long pollIntervalMs;
+
+    @Value("${app.auth.revoked-tokens.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    // Start of the previous poll; each poll re-reads one extra interval, so rows committed late are not missed
+    private volatile LocalDateTime lastPoll;
+
+    // Keyed by the SHA-256 of the token, so raw tokens are never held; entries expire at the token's own exp
+    private Cache<String, ParsedToken> verified;
+    // Local copy of the revoked_access_tokens denylist, kept only until the token would have expired anyway
+    private Cache<String, Instant> revoked;
+
+    @PostConstruct
+    void buildCaches() {
+        verified = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.creating((String digest, ParsedToken token) -> untilExpiry(token.getExpiresAt())))
+                .recordStats()
+                .build();
+        revoked = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.creating((String digest, Instant expiresAt) -> untilExpiry(expiresAt)))
+                .build();
+        lastPoll = LocalDateTime.now(clock);
+    }
+
+    @Override
+    public ParsedToken verify(String token) {
+        String digest = TokenHasher.sha256Hex(token);
+        // Checked on every request, so a revocation racing a first verification still wins
+        if (revoked.getIfPresent(digest) != null) {
+            throw new JwtException("Token has been revoked");
+        }
+        ParsedToken parsed = verified.get(digest, key -> load(token, digest));
+        // Caffeine expires lazily between maintenance runs; never serve a token past its exp
+        if (parsed.isExpiredAt(clock.instant())) {
+            verified.invalidate(digest);
+            throw new JwtException("Token has expired");
+        }
+        return parsed;
+    }
+
+    @Override
+    public void revoke(String token) {
+        ParsedToken parsed;
+        try {
+            parsed = jwtService.parseToken(token);
+        } catch (JwtException e) {
+            log.debug("Ignoring revocation of an invalid token: {}", e.getMessage());
+            return;
+        }
+        String digest = TokenHasher.sha256Hex(token);
+        revoked.put(digest, parsed.getExpiresAt());
+        verified.invalidate(digest);
+        if (!revokedAccessTokenRepository.existsByTokenHash(digest)) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            try {
+                revokedAccessTokenRepository.save(new RevokedAccessToken(
+                        digest, LocalDateTime.ofInstant(parsed.getExpiresAt(), clock.getZone()), now));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Token was revoked concurrently: {}", e.getMessage());
+            }
+        }
+        log.debug("Revoked token of user: {}", parsed.getSubject());
+    }
+
+    // Pulls revocations made on other instances into the local caches
+    @Scheduled(fixedDelayString = "${app.auth.revoked-tokens.poll-interval-ms:5000}")
+    public void pollRevocations() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<RevokedAccessToken> rows = revokedAccessTokenRepository.findRevokedSince(
+                lastPoll.minus(Duration.ofMillis(pollIntervalMs)), now);
+        for (RevokedAccessToken row : rows) {
+            revoked.put(row.getTokenHash(), row.getExpiresAt().atZone(clock.getZone()).toInstant());
+            verified.invalidate(row.getTokenHash());
+        }
+        lastPoll = now;
+    }
+
+    @Scheduled(cron = "${app.auth.revoked-tokens.purge-cron:0 30 4 * * *}")
+    public int purgeExpiredRevocations() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int purged = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<Long> ids = revokedAccessTokenRepository.findExpiredIds(now, PageRequest.of(0, purgeBatchSize));
+                return ids.isEmpty() ? 0 : revokedAccessTokenRepository.deleteByIdIn(ids);
+            });
+            if (batch == null || batch == 0) {
+                break;
+            }
+            purged += batch;
+        }
+        log.info("Purged {} expired access token revocations", purged);
+        return purged;
+    }
+
+    @Override
+    public CacheStatsDto getStats() {
+        return CacheStatsDto.of("verifiedTokens", verified);
+    }
+
+    // First sight of a token on this instance: the denylist is checked once here, so a restart or a cold cache
+    // cannot accept a token logged out elsewhere; later revocations arrive through pollRevocations
+    private ParsedToken load(String token, String digest) {
+        if (revokedAccessTokenRepository.existsByTokenHash(digest)) {
+            throw new JwtException("Token has been revoked");
+        }
+        return jwtService.parseToken(token);
+    }
+
+    private Duration untilExpiry(Instant expiresAt) {
+        Duration remaining = Duration.between(clock.instant(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
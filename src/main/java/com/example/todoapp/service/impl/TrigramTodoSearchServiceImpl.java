@@ -0,0 +1,320 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.event.TodoBulkChangedEvent;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoSearchDocumentView;
+import com.example.todoapp.service.TodoSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+// Registered by SearchConfig
+@RequiredArgsConstructor
+@Slf4j
+public class TrigramTodoSearchServiceImpl implements TodoSearchService {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final TodoRepository todoRepository;
+
+    // Access-ordered so the eldest entry is the least recently searched user
+    private final LinkedHashMap<Long, UserSearchIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+    // At most one build per user; concurrent searches wait on it. Only touched under the indexes lock.
+    private final Map<Long, Build> builds = new HashMap<>();
+    private long indexedDocuments;
+
+    @Value("${app.search.index.max-documents:100000}")
+    private long maxIndexedDocuments;
+
+    @Value("${app.search.max-results:500}")
+    private int maxResults;
+
+    @Override
+    public List<Long> search(Long userId, String keyword) {
+        String needle = normalize(keyword);
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+        return getOrBuildIndex(userId).search(needle, maxResults);
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        synchronized (indexes) {
+            markDirty(userId);
+            UserSearchIndex removed = indexes.remove(userId);
+            if (removed != null) {
+                indexedDocuments -= removed.size();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        synchronized (indexes) {
+            markDirty(event.getUserId());
+            // Users without a loaded index pick the change up when it is built on their next search
+            UserSearchIndex index = indexes.get(event.getUserId());
+            if (index == null) {
+                return;
+            }
+            int before = index.size();
+            if (event.getType() == TodoChangedEvent.Type.DELETED) {
+                index.remove(event.getTodoId());
+            } else {
+                index.put(new SearchDocument(event.getTodoId(), event.getTitle(), event.getDescription(), event.getCreatedAt()));
+            }
+            indexedDocuments += index.size() - before;
+        }
+    }
+
+    // Rebuilt on the user's next search instead of patched row by row
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodoBulkChangedEvent event) {
+        evictUser(event.getUserId());
+    }
+
+    private UserSearchIndex getOrBuildIndex(Long userId) {
+        Build build;
+        boolean owner = false;
+        synchronized (indexes) {
+            UserSearchIndex index = indexes.get(userId);
+            if (index != null) {
+                return index;
+            }
+            build = builds.get(userId);
+            if (build == null) {
+                build = new Build();
+                builds.put(userId, build);
+                owner = true;
+            }
+        }
+        if (!owner) {
+            return build.await();
+        }
+        
+        UserSearchIndex built = null;
+        try {
+            for (int attempt = 0; attempt < MAX_BUILD_ATTEMPTS; attempt++) {
+                synchronized (indexes) {
+                    build.dirty = false;
+                }
+                built = buildIndex(userId);
+                synchronized (indexes) {
+                    // Installed and unregistered under one lock: later changes patch the installed index instead
+                    if (!build.dirty) {
+                        install(userId, built);
+                        builds.remove(userId);
+                        build.result.complete(built);
+                        return built;
+                    }
+                }
+                log.debug("Todos changed while building search index for user ID: {}, retrying", userId);
+            }
+            // Still churning: answer from this snapshot without caching it
+            return built;
+        } catch (RuntimeException e) {
+            build.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (indexes) {
+                builds.remove(userId, build);
+            }
+            build.result.complete(built);
+        }
+    }
+
+    // Caller holds the indexes lock
+    private void markDirty(Long userId) {
+        Build build = builds.get(userId);
+        if (build != null) {
+            build.dirty = true;
+        }
+    }
+
+    private UserSearchIndex buildIndex(Long userId) {
+        List<TodoSearchDocumentView> rows = todoRepository.findSearchDocumentsByUserId(userId);
+        UserSearchIndex index = new UserSearchIndex();
+        for (TodoSearchDocumentView row : rows) {
+            index.put(new SearchDocument(row.getId(), row.getTitle(), row.getDescription(), row.getCreatedAt()));
+        }
+        log.debug("Built search index for user ID: {} with {} todos", userId, rows.size());
+        return index;
+    }
+
+    // Caller holds the indexes lock
+    private void install(Long userId, UserSearchIndex index) {
+        UserSearchIndex previous = indexes.put(userId, index);
+        if (previous != null) {
+            indexedDocuments -= previous.size();
+        }
+        indexedDocuments += index.size();
+        
+        Iterator<Map.Entry<Long, UserSearchIndex>> eldest = indexes.entrySet().iterator();
+        while (indexedDocuments > maxIndexedDocuments && indexes.size() > 1 && eldest.hasNext()) {
+            Map.Entry<Long, UserSearchIndex> entry = eldest.next();
+            if (entry.getKey().equals(userId)) {
+                continue;
+            }
+            indexedDocuments -= entry.getValue().size();
+            eldest.remove();
+            log.debug("Evicted search index for user ID: {}", entry.getKey());
+        }
+    }
+
+    private static String normalize(String text) {
+        return text != null ? text.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class Build {
+        private final CompletableFuture<UserSearchIndex> result = new CompletableFuture<>();
+        // Guarded by the indexes lock
+        private boolean dirty;
+
+        private UserSearchIndex await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static final class SearchDocument {
+        private final Long id;
+        private final String title;
+        private final String description;
+        private final LocalDateTime createdAt;
+
+        private SearchDocument(Long id, String title, String description, LocalDateTime createdAt) {
+            this.id = id;
+            this.title = normalize(title);
+            this.description = normalize(description);
+            this.createdAt = createdAt;
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = TrigramTodoSearchServiceImpl.grams(title);
+            grams.addAll(TrigramTodoSearchServiceImpl.grams(description));
+            return grams;
+        }
+
+        // Higher is better; 0 means the trigram candidate does not actually contain the keyword
+        private int score(String needle) {
+            if (title.equals(needle)) {
+                return 4;
+            }
+            if (title.startsWith(needle)) {
+                return 3;
+            }
+            if (title.contains(needle)) {
+                return 2;
+            }
+            return description.contains(needle) ? 1 : 0;
+        }
+    }
+
+    private static final class UserSearchIndex {
+        private final Map<Long, SearchDocument> documents = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+
+        synchronized int size() {
+            return documents.size();
+        }
+
+        synchronized void put(SearchDocument document) {
+            remove(document.id);
+            documents.put(document.id, document);
+            for (String gram : document.grams()) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(document.id);
+            }
+        }
+
+        synchronized void remove(Long todoId) {
+            SearchDocument document = documents.remove(todoId);
+            if (document == null) {
+                return;
+            }
+            for (String gram : document.grams()) {
+                Set<Long> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(todoId);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        synchronized List<Long> search(String needle, int maxResults) {
+            Collection<SearchDocument> candidates = needle.length() < GRAM_LENGTH
+                    ? documents.values()
+                    : intersect(needle);
+            
+            return candidates.stream()
+                    .map(document -> Map.entry(document, document.score(needle)))
+                    .filter(scored -> scored.getValue() > 0)
+                    .sorted(Comparator.<Map.Entry<SearchDocument, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                            .thenComparing(scored -> scored.getKey().createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                            .thenComparing(scored -> scored.getKey().id, Comparator.reverseOrder()))
+                    .limit(maxResults)
+                    .map(scored -> scored.getKey().id)
+                    .collect(Collectors.toList());
+        }
+
+        // Walk the shortest posting list and keep ids present in every other list
+        private List<SearchDocument> intersect(String needle) {
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams(needle)) {
+                Set<Long> posting = postings.get(gram);
+                if (posting == null) {
+                    return List.of();
+                }
+                lists.add(posting);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            
+            List<SearchDocument> matches = new ArrayList<>();
+            for (Long id : lists.get(0)) {
+                boolean inAll = true;
+                for (int i = 1; i < lists.size() && inAll; i++) {
+                    inAll = lists.get(i).contains(id);
+                }
+                if (inAll) {
+                    matches.add(documents.get(id));
+                }
+            }
+            return matches;
+        }
+    }
+}
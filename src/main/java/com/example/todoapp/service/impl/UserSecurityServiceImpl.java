@@ -0,0 +1,103 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.dto.common.CacheStatsDto;
+import com.example.todoapp.event.UserSecurityChangedEvent;
+import com.example.todoapp.exception.ResourceNotFoundException;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.service.RefreshTokenService;
+import com.example.todoapp.service.UserSecurityService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserSecurityServiceImpl implements UserSecurityService {
+
+    // Cached for unknown users too, so tokens of a deleted account keep failing without a query each
+    private static final SecurityState MISSING = new SecurityState(false, -1L);
+
+    private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.auth.security-state.max-entries:100000}")
+    private long maxEntries;
+
+    // Bounds how long another instance can keep accepting tokens after a change it did not see
+    @Value("${app.auth.security-state.expire-after-write-seconds:60}")
+    private long expireAfterWriteSeconds;
+
+    private Cache<Long, SecurityState> states;
+
+    @PostConstruct
+    void buildCache() {
+        states = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public boolean isTokenCurrent(Long userId, long securityVersion) {
+        SecurityState state = states.get(userId, this::load);
+        return state.enabled && state.version == securityVersion;
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllTokens(Long userId) {
+        userRepository.incrementSecurityVersion(userId);
+        refreshTokenService.revokeAll(userId);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(userId));
+        log.info("Revoked all tokens of user ID: {}", userId);
+    }
+
+    @Override
+    @Transactional
+    public void setAccountEnabled(Long userId, boolean enabled) {
+        if (userRepository.updateEnabled(userId, enabled) == 0) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        revokeAllTokens(userId);
+        log.info("User ID: {} {}", userId, enabled ? "enabled" : "disabled");
+    }
+
+    @Override
+    public CacheStatsDto getStats() {
+        return CacheStatsDto.of("userSecurityStates", states);
+    }
+
+    // Runs after commit, so the next load reads the changed row
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        states.invalidate(event.getUserId());
+    }
+
+    private SecurityState load(Long userId) {
+        return userRepository.findSecurityViewById(userId)
+                .map(view -> new SecurityState(Boolean.TRUE.equals(view.getEnabled()), view.getSecurityVersion()))
+                .orElse(MISSING);
+    }
+
+    private static final class SecurityState {
+        private final boolean enabled;
+        private final long version;
+
+        private SecurityState(boolean enabled, long version) {
+            this.enabled = enabled;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.todoapp.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Reads the clock once per request; every todo in a response is classified against the same instant
+@Component
+@RequiredArgsConstructor
+public class DeadlineClassifier {
+
+    public static final Duration DUE_SOON_WINDOW = Duration.ofDays(1);
+
+    private final Clock clock;
+
+    public Snapshot snapshot() {
+        return Snapshot.at(LocalDateTime.now(clock));
+    }
+
+    @Getter
+    public static final class Snapshot {
+        private final LocalDateTime now;
+        private final LocalDateTime dueSoonThreshold;
+
+        private Snapshot(LocalDateTime now) {
+            this.now = now;
+            this.dueSoonThreshold = now.plus(DUE_SOON_WINDOW);
+        }
+
+        public static Snapshot at(LocalDateTime now) {
+            return new Snapshot(now);
+        }
+
+        // Overdue once the deadline has passed, due soon while it lies strictly within the next 24 hours:
+        // the open window (now, now + 24h) shared by the due-soon queries, specification and stats
+        public DeadlineStatus classify(LocalDateTime deadline, boolean completed) {
+            if (deadline == null) {
+                return DeadlineStatus.NO_DEADLINE;
+            }
+            if (completed) {
+                return DeadlineStatus.ON_TIME;
+            }
+            if (now.isAfter(deadline)) {
+                return DeadlineStatus.OVERDUE;
+            }
+            if (deadline.isAfter(now) && deadline.isBefore(dueSoonThreshold)) {
+                return DeadlineStatus.DUE_SOON;
+            }
+            return DeadlineStatus.ON_TIME;
+        }
+    }
+}
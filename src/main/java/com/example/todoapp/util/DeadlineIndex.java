@@ -0,0 +1,178 @@
+package com.example.todoapp.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+// Immutable per-user deadline index over primitive arrays: deadlines as epoch seconds (LocalDateTime read as UTC,
+// so the mapping is monotonic and zone independent) and todo ids, sorted by key. Open todos are kept in a second
+// pair of arrays so overdue/due-soon lookups never skip over completed ones.
+//
+// Memory: 16 bytes per todo with a deadline (key + id), plus 16 more while it is open; four array headers
+// (~64 bytes) per user. DeadlineIndexTests checks this against JOL's retained size, and against the same todos
+// held as response rows. Writes copy the arrays, O(n) in the user's todo count.
+//
+// Keys drop sub-second precision, so lookups return whole one-second groups at both ends of the range and
+// callers apply the exact predicate to the loaded rows.
+public final class DeadlineIndex {
+
+    private static final long[] EMPTY = new long[0];
+    private static final long ARRAY_HEADER_BYTES = 16;
+
+    private final long[] keys;
+    private final long[] ids;
+    private final long[] openKeys;
+    private final long[] openIds;
+
+    private DeadlineIndex(long[] keys, long[] ids, long[] openKeys, long[] openIds) {
+        this.keys = keys;
+        this.ids = ids;
+        this.openKeys = openKeys;
+        this.openIds = openIds;
+    }
+
+    public static DeadlineIndex empty() {
+        return new DeadlineIndex(EMPTY, EMPTY, EMPTY, EMPTY);
+    }
+
+    public static long keyOf(LocalDateTime deadline) {
+        return deadline.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // Builds from rows already ordered by deadline, as the loading query returns them
+    public static DeadlineIndex ofSorted(long[] keys, long[] ids, boolean[] completed) {
+        int open = 0;
+        for (boolean done : completed) {
+            if (!done) open++;
+        }
+        long[] openKeys = new long[open];
+        long[] openIds = new long[open];
+        for (int i = 0, o = 0; i < keys.length; i++) {
+            if (i > 0 && keys[i] < keys[i - 1]) {
+                throw new IllegalArgumentException("Deadline keys must be sorted");
+            }
+            if (!completed[i]) {
+                openKeys[o] = keys[i];
+                openIds[o] = ids[i];
+                o++;
+            }
+        }
+        return new DeadlineIndex(keys.clone(), ids.clone(), openKeys, openIds);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public long estimatedBytes() {
+        return 4 * ARRAY_HEADER_BYTES + 8L * (keys.length + ids.length + openKeys.length + openIds.length);
+    }
+
+    // Replaces the entry of the todo; a null deadline just removes it
+    public DeadlineIndex with(long id, LocalDateTime deadline, boolean completed) {
+        DeadlineIndex without = without(id);
+        if (deadline == null) {
+            return without;
+        }
+        long key = keyOf(deadline);
+        long[][] all = insert(without.keys, without.ids, key, id);
+        if (completed) {
+            return new DeadlineIndex(all[0], all[1], without.openKeys, without.openIds);
+        }
+        long[][] open = insert(without.openKeys, without.openIds, key, id);
+        return new DeadlineIndex(all[0], all[1], open[0], open[1]);
+    }
+
+    public DeadlineIndex without(long id) {
+        int at = indexOf(ids, id);
+        if (at < 0) {
+            return this;
+        }
+        long[][] all = remove(keys, ids, at);
+        int openAt = indexOf(openIds, id);
+        if (openAt < 0) {
+            return new DeadlineIndex(all[0], all[1], openKeys, openIds);
+        }
+        long[][] open = remove(openKeys, openIds, openAt);
+        return new DeadlineIndex(all[0], all[1], open[0], open[1]);
+    }
+
+    // Candidate ids with from <= deadline <= to (widened to whole seconds), in key order. Returns the whole first
+    // second group, then at least `limit` more ids, then the rest of the last group reached, so after the exact
+    // filter the caller still has `limit` rows whenever that many exist.
+    public long[] findIds(LocalDateTime from, LocalDateTime to, int limit) {
+        return find(keys, ids, from, to, limit);
+    }
+
+    public long[] findOpenIds(LocalDateTime from, LocalDateTime to, int limit) {
+        return find(openKeys, openIds, from, to, limit);
+    }
+
+    private static long[] find(long[] keys, long[] ids, LocalDateTime from, LocalDateTime to, int limit) {
+        long fromKey = keyOf(from);
+        long toKey = keyOf(to);
+        if (fromKey > toKey) {
+            return EMPTY;
+        }
+        int start = lowerBound(keys, fromKey);
+        int rangeEnd = upperBound(keys, toKey);
+        int afterFirstGroup = Math.min(upperBound(keys, fromKey), rangeEnd);
+        int end = (int) Math.min((long) afterFirstGroup + limit, rangeEnd);
+        if (end > afterFirstGroup && end < rangeEnd) {
+            end = Math.min(upperBound(keys, keys[end - 1]), rangeEnd);
+        }
+        return Arrays.copyOfRange(ids, start, end);
+    }
+
+    // First position whose key is >= key
+    private static int lowerBound(long[] keys, long key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position whose key is > key; keys of LocalDateTime values are far below Long.MAX_VALUE
+    private static int upperBound(long[] keys, long key) {
+        return lowerBound(keys, key + 1);
+    }
+
+    private static int indexOf(long[] ids, long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long[][] insert(long[] keys, long[] ids, long key, long id) {
+        int at = upperBound(keys, key);
+        long[] newKeys = new long[keys.length + 1];
+        long[] newIds = new long[ids.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, at);
+        System.arraycopy(ids, 0, newIds, 0, at);
+        newKeys[at] = key;
+        newIds[at] = id;
+        System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+        System.arraycopy(ids, at, newIds, at + 1, ids.length - at);
+        return new long[][]{newKeys, newIds};
+    }
+
+    private static long[][] remove(long[] keys, long[] ids, int at) {
+        long[] newKeys = new long[keys.length - 1];
+        long[] newIds = new long[ids.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, at);
+        System.arraycopy(ids, 0, newIds, 0, at);
+        System.arraycopy(keys, at + 1, newKeys, at, keys.length - at - 1);
+        System.arraycopy(ids, at + 1, newIds, at, ids.length - at - 1);
+        return new long[][]{newKeys, newIds};
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.todoapp.util;
+
+public enum DeadlineStatus {
+    NO_DEADLINE, ON_TIME, DUE_SOON, OVERDUE
+}
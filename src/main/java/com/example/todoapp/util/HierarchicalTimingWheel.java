@@ -0,0 +1,123 @@
+package com.example.todoapp.util;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel: O(1) schedule and cancel, expirations cascade from coarse overflow levels into
+// the finest level as time advances. Timeouts fire on the first tick at or after their expiration, never early.
+// Not thread-safe; callers serialize schedule/advance.
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final Level root;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("Timing wheel needs a positive tick and more than one bucket");
+        }
+        this.tickMs = tickMs;
+        // The current tick always lies fully in the past, so anything landing in it is due
+        this.root = new Level(tickMs, wheelSize, Math.floorDiv(startMs, tickMs) * tickMs - tickMs);
+    }
+
+    // Returns null when the expiration already falls in the current tick; the caller fires it directly
+    public Timeout<T> schedule(long expirationMs, T payload) {
+        Timeout<T> timeout = new Timeout<>(expirationMs, payload);
+        if (!root.add(timeout)) {
+            return null;
+        }
+        size++;
+        return timeout;
+    }
+
+    public void advanceTo(long nowMs, Consumer<T> expired) {
+        while (root.currentTimeMs + 2 * tickMs <= nowMs) {
+            root.step(expired);
+        }
+    }
+
+    // Includes cancelled timeouts whose bucket has not been flushed yet
+    public int size() {
+        return size;
+    }
+
+    @Getter
+    public static final class Timeout<T> {
+        private final long expirationMs;
+        private final T payload;
+        private boolean cancelled;
+
+        private Timeout(long expirationMs, T payload) {
+            this.expirationMs = expirationMs;
+            this.payload = payload;
+        }
+
+        // Lazy removal: the entry stays in its bucket and is dropped when the bucket is flushed
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private final class Level {
+        private final long levelTickMs;
+        private final long intervalMs;
+        private final List<List<Timeout<T>>> buckets;
+        private long currentTimeMs;
+        private Level overflow;
+
+        private Level(long levelTickMs, int wheelSize, long startMs) {
+            this.levelTickMs = levelTickMs;
+            this.intervalMs = levelTickMs * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+            this.currentTimeMs = Math.floorDiv(startMs, levelTickMs) * levelTickMs;
+        }
+
+        private boolean add(Timeout<T> timeout) {
+            long expirationMs = timeout.getExpirationMs();
+            if (expirationMs < currentTimeMs + levelTickMs) {
+                return false;
+            }
+            if (expirationMs < currentTimeMs + intervalMs) {
+                bucketOf(expirationMs).add(timeout);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(intervalMs, buckets.size(), currentTimeMs);
+            }
+            return overflow.add(timeout);
+        }
+
+        private void step(Consumer<T> expired) {
+            currentTimeMs += levelTickMs;
+            // Cascade the coarser level first so its entries land in this level before the bucket below is flushed
+            if (overflow != null && currentTimeMs % overflow.levelTickMs == 0) {
+                overflow.step(expired);
+            }
+            List<Timeout<T>> bucket = bucketOf(currentTimeMs);
+            if (bucket.isEmpty()) {
+                return;
+            }
+            List<Timeout<T>> flushed = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Timeout<T> timeout : flushed) {
+                if (timeout.isCancelled()) {
+                    size--;
+                } else if (!root.add(timeout)) {
+                    size--;
+                    expired.accept(timeout.getPayload());
+                }
+            }
+        }
+
+        private List<Timeout<T>> bucketOf(long timeMs) {
+            return buckets.get((int) Math.floorMod(Math.floorDiv(timeMs, levelTickMs), (long) buckets.size()));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.todoapp.util;
 
 import com.example.todoapp.entity.User;
+import com.example.todoapp.security.TokenPrincipal;
 import com.example.todoapp.security.UserPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,17 +18,34 @@ public class SecurityUtil {
         return null;
     }
 
+    // Set by JwtAuthenticationFilter in stateless mode, see app.auth.stateless
+    public static TokenPrincipal getCurrentTokenPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof TokenPrincipal) {
+            return (TokenPrincipal) authentication.getPrincipal();
+        }
+        return null;
+    }
+
     public static Long getCurrentUserId() {
+        TokenPrincipal tokenPrincipal = getCurrentTokenPrincipal();
+        if (tokenPrincipal != null) {
+            return tokenPrincipal.getId();
+        }
         UserPrincipal userPrincipal = getCurrentUserPrincipal();
         return userPrincipal != null ? userPrincipal.getId() : null;
     }
 
     public static String getCurrentUsername() {
+        TokenPrincipal tokenPrincipal = getCurrentTokenPrincipal();
+        if (tokenPrincipal != null) {
+            return tokenPrincipal.getUsername();
+        }
         UserPrincipal userPrincipal = getCurrentUserPrincipal();
         return userPrincipal != null ? userPrincipal.getUsername() : null;
     }
 
     public static boolean isAuthenticated() {
-        return getCurrentUserPrincipal() != null;
+        return getCurrentUserId() != null;
     }
 }
@@ -0,0 +1,72 @@
+package com.example.todoapp.util;
+
+import com.example.todoapp.exception.BadRequestException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Keyset pagination position: sort key (created_at, deadline or title) and id of the last row served.
+// A null key marks the "no deadline" tail of the deadline ordering, which is paged by id alone.
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TodoCursor {
+
+    // Sentinels used for the first page so every page runs the same seek query
+    private static final LocalDateTime MIN_KEY = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_KEY = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final String SEPARATOR = "|";
+
+    private final String key;
+    private final Long id;
+
+    public static TodoCursor of(LocalDateTime key, Long id) {
+        return new TodoCursor(key != null ? key.toString() : null, id);
+    }
+
+    public static TodoCursor of(String key, Long id) {
+        return new TodoCursor(key, id);
+    }
+
+    public static TodoCursor startAscending() {
+        return of(MIN_KEY, 0L);
+    }
+
+    public static TodoCursor startDescending() {
+        return of(MAX_KEY, Long.MAX_VALUE);
+    }
+
+    public boolean isNullKey() {
+        return key == null;
+    }
+
+    public LocalDateTime getDateKey() {
+        try {
+            return key != null ? LocalDateTime.parse(key) : null;
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor key: " + key, e);
+        }
+    }
+
+    public String encode() {
+        String raw = (key != null ? key : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TodoCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String key = raw.substring(0, separator);
+            Long id = Long.parseLong(raw.substring(separator + 1));
+            return new TodoCursor(key.isEmpty() ? null : key, id);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
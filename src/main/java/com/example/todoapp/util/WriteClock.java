@@ -0,0 +1,21 @@
+package com.example.todoapp.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// Timestamps for todo writes. Truncated to the TIMESTAMP column precision so responses and events show exactly
+// what was stored.
+@Component
+@RequiredArgsConstructor
+public class WriteClock {
+
+    private final Clock clock;
+
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,5 @@
+-- Create default roles (admin user is created by DataInitializer)
+INSERT INTO roles (name, description) VALUES
+('ROLE_USER', 'Standard user role'),
+('ROLE_ADMIN', 'Administrator role')
+ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,156 @@
+-- Extensions
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Create roles table
+CREATE TABLE IF NOT EXISTS roles (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE,
+    description VARCHAR(255)
+);
+
+-- Create users table
+CREATE TABLE IF NOT EXISTS users (
+    id BIGSERIAL PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    first_name VARCHAR(50),
+    last_name VARCHAR(50),
+    email_verified BOOLEAN NOT NULL DEFAULT FALSE,
+    enabled BOOLEAN NOT NULL DEFAULT FALSE,
+    -- Bumped when access rights change; tokens carrying an older value are rejected
+    security_version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create user_roles table
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (role_id) REFERENCES roles(id) ON DELETE CASCADE
+);
+
+-- Create todos table
+CREATE TABLE IF NOT EXISTS todos (
+    id BIGSERIAL PRIMARY KEY,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    deadline TIMESTAMP NULL,
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Per-user change sequence value of the last write, see user_todo_counters.change_version
+    change_version BIGINT NOT NULL DEFAULT 0,
+    -- Deadline each reminder type was last claimed for, see DeadlineReminderServiceImpl
+    due_soon_reminded_for TIMESTAMP NULL,
+    overdue_reminded_for TIMESTAMP NULL,
+    -- Full-text document for /api/todos/search, title weighted above description
+    search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Create user_todo_counters table (maintained incrementally by TodoServiceImpl, rebuilt by reconciliation)
+CREATE TABLE IF NOT EXISTS user_todo_counters (
+    user_id BIGINT PRIMARY KEY,
+    total_todos BIGINT NOT NULL DEFAULT 0,
+    completed_todos BIGINT NOT NULL DEFAULT 0,
+    todos_with_deadline BIGINT NOT NULL DEFAULT 0,
+    completed_with_deadline BIGINT NOT NULL DEFAULT 0,
+    -- Last allocated change version; bumping it row-locks the user's writes until commit
+    change_version BIGINT NOT NULL DEFAULT 0,
+    -- Highest version whose tombstones were compacted away; older sync positions must resync
+    tombstones_purged_version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Create todo_tombstones table (deleted todos for delta sync, compacted after a retention period)
+CREATE TABLE IF NOT EXISTS todo_tombstones (
+    todo_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    change_version BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Columns added after the first release
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE user_todo_counters ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE user_todo_counters ADD COLUMN IF NOT EXISTS tombstones_purged_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS security_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS due_soon_reminded_for TIMESTAMP NULL;
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS overdue_reminded_for TIMESTAMP NULL;
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) STORED;
+
+-- Create refresh_tokens table (SHA-256 of each issued refresh token; used rows stay until expiry to detect reuse)
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    token_hash CHAR(64) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    -- Random id shared by every rotation of one login session, so reuse can revoke them together
+    family_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Create revoked_access_tokens table (SHA-256 of logged-out access tokens, shared by all instances until exp)
+CREATE TABLE IF NOT EXISTS revoked_access_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    token_hash CHAR(64) NOT NULL UNIQUE,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL
+);
+
+-- Create email_verifications table
+CREATE TABLE IF NOT EXISTS email_verifications (
+    id BIGSERIAL PRIMARY KEY,
+    email VARCHAR(100) NOT NULL,
+    verification_code VARCHAR(6) NOT NULL,
+    expiry_time TIMESTAMP NOT NULL,
+    verified BOOLEAN NOT NULL DEFAULT FALSE,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create indexes
+CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
+CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
+CREATE INDEX IF NOT EXISTS idx_todos_deadline ON todos(deadline);
+-- Todo list indexes: user_id equality prefix followed by the keyset (sort key, id) of each listing
+CREATE INDEX IF NOT EXISTS idx_todos_user_created ON todos(user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_todos_user_deadline ON todos(user_id, deadline, id);
+-- Delta sync: changes and tombstones of one user after a version, compaction by age
+CREATE INDEX IF NOT EXISTS idx_todos_user_change_version ON todos(user_id, change_version, id);
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_user_version ON todo_tombstones(user_id, change_version, todo_id);
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_deleted_at ON todo_tombstones(deleted_at);
+-- Open todos with deadlines only: overdue, due-soon and stats scans skip completed and undated rows
+CREATE INDEX IF NOT EXISTS idx_todos_user_open_deadline ON todos(user_id, deadline, id)
+    WHERE completed = FALSE AND deadline IS NOT NULL;
+-- Reminder refill across all users: open todos in (deadline, id) keyset order without a sort step
+CREATE INDEX IF NOT EXISTS idx_todos_open_deadline ON todos(deadline, id)
+    WHERE completed = FALSE AND deadline IS NOT NULL;
+-- Superseded by the composite indexes above, which share the user_id prefix
+DROP INDEX IF EXISTS idx_todos_user_id;
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user ON refresh_tokens(user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens(family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_access_tokens_expires_at ON revoked_access_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_access_tokens_revoked_at ON revoked_access_tokens(revoked_at);
+CREATE INDEX IF NOT EXISTS idx_email_verifications_email ON email_verifications(email);
+CREATE INDEX IF NOT EXISTS idx_email_verifications_expiry ON email_verifications(expiry_time);
+
+-- Search indexes: GIN over the tsvector for word/prefix matches, trigram GIN for substring ILIKE and similarity
+CREATE INDEX IF NOT EXISTS idx_todos_search_vector ON todos USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_todos_title_trgm ON todos USING GIN (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_todos_description_trgm ON todos USING GIN (description gin_trgm_ops);
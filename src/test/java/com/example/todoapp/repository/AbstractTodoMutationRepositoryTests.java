@@ -0,0 +1,95 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.config.DatabasePlatform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs TodoMutationRepository against a real database of each supported product; the subclasses supply it.
+// The repository picks its SQL from DatabasePlatform, so each subclass also pins which branch ran.
+abstract class AbstractTodoMutationRepositoryTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 15, 12, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private TodoMutationRepository repository;
+    private long ownerId;
+    private long otherUserId;
+    private long todoId;
+
+    protected abstract DataSource dataSource();
+
+    protected abstract boolean expectPostgres();
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = dataSource();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DatabasePlatform platform = new DatabasePlatform(dataSource);
+        assertThat(platform.isPostgres()).isEqualTo(expectPostgres());
+        repository = new TodoMutationRepository(jdbcTemplate, platform);
+
+        jdbcTemplate.update("DELETE FROM todos");
+        jdbcTemplate.update("DELETE FROM users");
+        ownerId = insertUser("mutation_owner");
+        otherUserId = insertUser("mutation_other");
+        jdbcTemplate.update(
+                "INSERT INTO todos (title, description, completed, deadline, user_id) VALUES (?, ?, FALSE, ?, ?)",
+                "Write tests", "Both dialects", Timestamp.valueOf(NOW.plusDays(1)), ownerId);
+        todoId = jdbcTemplate.queryForObject("SELECT id FROM todos WHERE user_id = ?", Long.class, ownerId);
+    }
+
+    @Test
+    void toggleReturnsPreviousRowAndFlipsCompleted() {
+        Optional<TodoRow> before = repository.toggleCompleted(todoId, ownerId, NOW, 7L);
+
+        assertThat(before).isPresent();
+        assertThat(before.get().getCompleted()).isFalse();
+        assertThat(before.get().getTitle()).isEqualTo("Write tests");
+        assertThat(jdbcTemplate.queryForObject("SELECT completed FROM todos WHERE id = ?", Boolean.class, todoId)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT change_version FROM todos WHERE id = ?", Long.class, todoId)).isEqualTo(7L);
+    }
+
+    @Test
+    void updateDeadlineReturnsPreviousDeadline() {
+        Optional<TodoRow> before = repository.updateDeadline(todoId, ownerId, null, NOW, 3L);
+
+        assertThat(before).isPresent();
+        assertThat(before.get().getDeadline()).isEqualTo(NOW.plusDays(1));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos WHERE id = ? AND deadline IS NULL",
+                Integer.class, todoId)).isEqualTo(1);
+    }
+
+    @Test
+    void deleteReturnsDeletedRow() {
+        Optional<TodoRow> deleted = repository.delete(todoId, ownerId);
+
+        assertThat(deleted).map(TodoRow::getId).contains(todoId);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos", Integer.class)).isZero();
+    }
+
+    @Test
+    void otherUsersTodoIsNeitherReturnedNorChanged() {
+        assertThat(repository.toggleCompleted(todoId, otherUserId, NOW, 1L)).isEmpty();
+        assertThat(repository.updateDeadline(todoId, otherUserId, null, NOW, 1L)).isEmpty();
+        assertThat(repository.delete(todoId, otherUserId)).isEmpty();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todos WHERE id = ? AND completed = FALSE AND deadline IS NOT NULL",
+                Integer.class, todoId)).isEqualTo(1);
+    }
+
+    private long insertUser(String username) {
+        jdbcTemplate.update(
+                "INSERT INTO users (username, email, password, email_verified, enabled) VALUES (?, ?, ?, TRUE, TRUE)",
+                username, username + "@example.com", "not-a-real-hash");
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+    }
+}
@@ -0,0 +1,405 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.config.DatabasePlatform;
+import com.example.todoapp.service.TodoSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static com.example.todoapp.repository.TodoSpecifications.after;
+import static com.example.todoapp.repository.TodoSpecifications.afterId;
+import static com.example.todoapp.repository.TodoSpecifications.belongsTo;
+import static com.example.todoapp.repository.TodoSpecifications.completed;
+import static com.example.todoapp.repository.TodoSpecifications.deadlineFrom;
+import static com.example.todoapp.repository.TodoSpecifications.deadlineTo;
+import static com.example.todoapp.repository.TodoSpecifications.dueSoon;
+import static com.example.todoapp.repository.TodoSpecifications.hasDeadline;
+import static com.example.todoapp.repository.TodoSpecifications.overdue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Calls each todo repository method on a seeded dataset, captures the SQL it sends through JDBC
+// (parameters inlined as literals) and EXPLAINs all of it; the subclasses run it on each supported database
+// and decide what a bad plan looks like there. Writes run in a rolled back transaction so every case sees
+// the same data.
+abstract class AbstractTodoQueryPlanTests {
+
+    private static final int USERS = 20;
+    private static final int TODOS_PER_USER = 200;
+    private static final int TOMBSTONES_PER_USER = 50;
+    private static final long TOMBSTONE_ID_BASE = 1_000_000_000L;
+    private static final String USERNAME_PREFIX = "plan_user_";
+
+    private static final LocalDateTime FIRST_DESC = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final LocalDateTime FIRST_ASC = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 15, 12, 0);
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2030, 6, 1, 0, 0);
+    private static final Pageable PAGE = PageRequest.of(0, 51);
+    private static final DateTimeFormatter TIMESTAMP_LITERAL = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss.SSSSSS");
+
+    // Statements recorded on the current thread while a repository call runs
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoJdbcRepository todoJdbcRepository;
+
+    @Autowired
+    private TodoMutationRepository todoMutationRepository;
+
+    @Autowired
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    @Autowired
+    private UserTodoCounterRepository userTodoCounterRepository;
+
+    @Autowired
+    private TodoSearchService todoSearchService;
+
+    @Autowired
+    private DatabasePlatform databasePlatform;
+
+    private Repositories repositories;
+
+    @BeforeEach
+    void seedDataset() {
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username LIKE '" + USERNAME_PREFIX + "%'", Integer.class);
+        if (seeded == null || seeded == 0) {
+            seed();
+        }
+        Long userId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM users WHERE username LIKE '" + USERNAME_PREFIX + "%'", Long.class);
+        Long todoId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM todos WHERE user_id = ?", Long.class, userId);
+        repositories = new Repositories(todoRepository, todoJdbcRepository, todoMutationRepository,
+                todoTombstoneRepository, userTodoCounterRepository, todoSearchService, databasePlatform.isPostgres(),
+                userId, todoId);
+    }
+
+    // Ordered cases are the keyset and deadline listings, which must read rows in index order instead of sorting
+    static Stream<Arguments> repositoryCalls() {
+        return Stream.of(
+                call("findByIdAndUserId", r -> r.todos.findByIdAndUserId(r.todoId, r.userId)),
+                call("findRowByIdAndUserId", r -> r.todos.findRowByIdAndUserId(r.todoId, r.userId)),
+                call("findRowsByIdInAndUserId", r -> r.todos.findRowsByIdInAndUserId(r.todoIds(), r.userId)),
+                call("existsByIdAndUserId", r -> r.todos.existsByIdAndUserId(r.todoId, r.userId)),
+                ordered("findRowsByUserId", r -> r.todos.findRowsByUserId(r.userId)),
+                ordered("findPageByUserIdOrderByCreatedAtDesc", r -> r.todos.findPageByUserIdOrderByCreatedAtDesc(
+                        r.userId, FIRST_DESC, Long.MAX_VALUE, PAGE)),
+                ordered("findPageByUserIdAndDeadlineIsNullOrderByCreatedAtDesc", r -> r.todos.findPageByUserIdAndDeadlineIsNullOrderByCreatedAtDesc(
+                        r.userId, FIRST_DESC, Long.MAX_VALUE, PAGE)),
+                ordered("findPageByUserIdAndDeadlineIsNotNullOrderByDeadlineAsc", r -> r.todos.findPageByUserIdAndDeadlineIsNotNullOrderByDeadlineAsc(
+                        r.userId, FIRST_ASC, 0L, PAGE)),
+                ordered("findPageByUserIdAndDeadlineIsNullOrderByIdAsc", r -> r.todos.findPageByUserIdAndDeadlineIsNullOrderByIdAsc(
+                        r.userId, 0L, PAGE)),
+                ordered("findOverduePageByUserId", r -> r.todos.findOverduePageByUserId(
+                        r.userId, NOW, FIRST_ASC, 0L, PAGE)),
+                ordered("findDueSoonPageByUserId", r -> r.todos.findDueSoonPageByUserId(
+                        r.userId, NOW, NOW.plusDays(1), FIRST_ASC, 0L, PAGE)),
+                ordered("findPageByUserIdAndDeadlineBetween", r -> r.todos.findPageByUserIdAndDeadlineBetween(
+                        r.userId, MONTH_START, MONTH_START.plusMonths(1), FIRST_ASC, 0L, PAGE)),
+                ordered("findChangedPageByUserId", r -> r.todos.findChangedPageByUserId(r.userId, 0L, 0L, PAGE)),
+                call("completeOverdueByUserId", r -> r.todos.completeOverdueByUserId(r.userId, NOW, 1L)),
+                call("deleteByIdInAndUserId", r -> r.todos.deleteByIdInAndUserId(r.todoIds(), r.userId)),
+                call("countCompletedWithDeadlineByUserId", r -> r.todos.countCompletedWithDeadlineByUserId(r.userId)),
+                call("deleteCompletedByUserId", r -> r.todos.deleteCompletedByUserId(r.userId)),
+                call("aggregateDeadlineStatsByUserId", r -> r.todos.aggregateDeadlineStatsByUserId(
+                        r.userId, NOW, NOW.plusDays(1), NOW.minusDays(2), NOW.plusDays(5), MONTH_START, MONTH_START.plusMonths(1))),
+                call("countByDeadlineDate (calendar)", r -> r.todos.countByDeadlineDate(
+                        r.userId, MONTH_START, MONTH_START.plusMonths(1), NOW)),
+                call("countTodosByUserIds", r -> r.todos.countTodosByUserIds(List.of(r.userId))),
+                ordered("findDeadlineViewsByUserId", r -> r.todos.findDeadlineViewsByUserId(r.userId)),
+                ordered("findOpenReminderPage", r -> r.todos.findOpenReminderPage(
+                        NOW, NOW.plusMinutes(10), NOW, 0L, PageRequest.of(0, 1000))),
+                call("findOpenReminderViewsByUserId", r -> r.todos.findOpenReminderViewsByUserId(
+                        r.userId, NOW, NOW.plusMinutes(10))),
+                call("findReminderViewsByIdIn", r -> r.todos.findReminderViewsByIdIn(r.todoIds())),
+                call("findSearchDocumentsByUserId", r -> r.todos.findSearchDocumentsByUserId(r.userId)),
+                // Ranked by relevance, so a sort is expected; the rows must still come from an index
+                call("TodoSearchService.search", r -> {
+                    r.search.evictUser(r.userId);
+                    r.search.search(r.userId, "seeded todo");
+                }),
+                // The /filter specifications, one per sort key and filter flag
+                ordered("findRows (completed, createdAt keyset)", r -> r.todos.findRows(
+                        belongsTo(r.userId).and(completed(false)).and(after("createdAt", NOW, Long.MAX_VALUE, false)),
+                        Sort.by(Sort.Direction.DESC, "createdAt", "id"), PAGE.getPageSize())),
+                ordered("findRows (deadline range, deadline keyset)", r -> r.todos.findRows(
+                        belongsTo(r.userId).and(deadlineFrom(MONTH_START)).and(deadlineTo(MONTH_START.plusMonths(1)))
+                                .and(hasDeadline(true)).and(after("deadline", FIRST_ASC, 0L, true)),
+                        Sort.by(Sort.Direction.ASC, "deadline", "id"), PAGE.getPageSize())),
+                ordered("findRows (no-deadline tail by id)", r -> r.todos.findRows(
+                        belongsTo(r.userId).and(hasDeadline(false)).and(afterId(0L, true)),
+                        Sort.by(Sort.Direction.ASC, "id"), PAGE.getPageSize())),
+                ordered("findRows (overdue)", r -> r.todos.findRows(
+                        belongsTo(r.userId).and(overdue(NOW)),
+                        Sort.by(Sort.Direction.DESC, "createdAt", "id"), PAGE.getPageSize())),
+                ordered("findRows (due soon)", r -> r.todos.findRows(
+                        belongsTo(r.userId).and(dueSoon(NOW, NOW.plusDays(1))).and(hasDeadline(true)),
+                        Sort.by(Sort.Direction.ASC, "deadline", "id"), PAGE.getPageSize())),
+                // No index on title: sorted, but still read through the user's index
+                call("findRows (title keyset)", r -> r.todos.findRows(
+                        belongsTo(r.userId).and(after("title", "Todo 1", 0L, true)),
+                        Sort.by(Sort.Direction.ASC, "title", "id"), PAGE.getPageSize())),
+                call("TodoJdbcRepository.insertAll", r -> r.jdbc.insertAll(r.userId, List.of(
+                        new TodoRow(null, "x", null, false, NOW, NOW, NOW)), 1L)),
+                call("TodoJdbcRepository.updateAll", r -> r.jdbc.updateAll(r.userId, List.of(
+                        new TodoRow(r.todoId, "x", null, false, NOW, NOW, NOW)), 1L)),
+                call("TodoMutationRepository.toggleCompleted", r -> r.mutations.toggleCompleted(r.todoId, r.userId, NOW, 1L)),
+                call("TodoMutationRepository.updateDeadline", r -> r.mutations.updateDeadline(r.todoId, r.userId, NOW, NOW, 1L)),
+                call("TodoMutationRepository.delete", r -> r.mutations.delete(r.todoId, r.userId)),
+                call("TodoMutationRepository.claimDueSoonReminders", r -> r.mutations.claimDueSoonReminders(Map.of(r.todoId, NOW))),
+                call("TodoMutationRepository.claimOverdueReminders", r -> r.mutations.claimOverdueReminders(Map.of(r.todoId, NOW))),
+                call("TodoTombstoneRepository.insertForTodos", r -> r.tombstones.insertForTodos(r.todoIds(), r.userId, 1L, NOW)),
+                call("TodoTombstoneRepository.insertForCompletedTodos", r -> r.tombstones.insertForCompletedTodos(r.userId, 1L, NOW)),
+                ordered("TodoTombstoneRepository.findPageByUserId", r -> r.tombstones.findPageByUserId(r.userId, 0L, 0L, PAGE)),
+                call("TodoTombstoneRepository.findExpired", r -> r.tombstones.findExpired(NOW, PageRequest.of(0, 1000))),
+                call("TodoTombstoneRepository.deleteByTodoIdIn", r -> r.tombstones.deleteByTodoIdIn(r.todoIds())),
+                call("UserTodoCounterRepository.insertIfAbsent", r -> {
+                    if (r.postgres) {
+                        r.counters.insertIfAbsentPostgres(r.userId);
+                    } else {
+                        r.counters.insertIfAbsentH2(r.userId);
+                    }
+                }),
+                call("UserTodoCounterRepository.applyDelta", r -> r.counters.applyDelta(r.userId, 1, 0, 0, 0)),
+                call("UserTodoCounterRepository.incrementChangeVersion", r -> r.counters.incrementChangeVersion(r.userId)),
+                call("UserTodoCounterRepository.findChangeVersion", r -> r.counters.findChangeVersion(r.userId)),
+                call("UserTodoCounterRepository.findTombstonesPurgedVersion", r -> r.counters.findTombstonesPurgedVersion(r.userId)),
+                call("UserTodoCounterRepository.raiseTombstonesPurgedVersion", r -> r.counters.raiseTombstonesPurgedVersion(r.userId, 1L)),
+                call("UserTodoCounterRepository.findAllForUpdate", r -> r.counters.findAllForUpdate(List.of(r.userId)))
+        );
+    }
+
+    protected abstract String explain(String sql);
+
+    // Fails when the plan reads a whole table, or, for ordered cases, sorts instead of following an index
+    protected abstract void assertUsesIndexes(String description, String plan, boolean ordered);
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryCalls")
+    void queryUsesIndex(String name, boolean ordered, RepositoryCall call) {
+        List<String> statements = capture(call);
+
+        assertThat(statements).as("SQL sent by %s", name).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertUsesIndexes(String.format("Plan for %s:%n%s%n%s", name, sql, plan), plan, ordered);
+        }
+    }
+
+    private List<String> capture(RepositoryCall call) {
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                call.run(repositories);
+            });
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements.stream().distinct().toList();
+    }
+
+    private static Arguments call(String name, RepositoryCall call) {
+        return Arguments.of(name, false, call);
+    }
+
+    private static Arguments ordered(String name, RepositoryCall call) {
+        return Arguments.of(name, true, call);
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run(Repositories repositories);
+    }
+
+    private static final class Repositories {
+        private final TodoRepository todos;
+        private final TodoJdbcRepository jdbc;
+        private final TodoMutationRepository mutations;
+        private final TodoTombstoneRepository tombstones;
+        private final UserTodoCounterRepository counters;
+        private final TodoSearchService search;
+        private final boolean postgres;
+        private final Long userId;
+        private final Long todoId;
+
+        private Repositories(TodoRepository todos, TodoJdbcRepository jdbc, TodoMutationRepository mutations,
+                             TodoTombstoneRepository tombstones, UserTodoCounterRepository counters,
+                             TodoSearchService search, boolean postgres, Long userId, Long todoId) {
+            this.todos = todos;
+            this.jdbc = jdbc;
+            this.mutations = mutations;
+            this.tombstones = tombstones;
+            this.counters = counters;
+            this.search = search;
+            this.postgres = postgres;
+            this.userId = userId;
+            this.todoId = todoId;
+        }
+
+        private List<Long> todoIds() {
+            return List.of(todoId, todoId + 1, todoId + 2);
+        }
+    }
+
+    // Wraps the application DataSource so prepared statements executed while a test is capturing get recorded
+    @TestConfiguration
+    static class SqlCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(DataSource.class, dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private static <T> T wrap(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                return wrap(Connection.class, connection);
+            }
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return recording(statement, (String) args[0]);
+            }
+            return result;
+        }));
+    }
+
+    private static PreparedStatement recording(PreparedStatement target, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, name.equals("setNull") ? null : args[1]);
+                    } else if ((name.startsWith("execute") || name.equals("addBatch")) && args == null) {
+                        List<String> captured = CAPTURED.get();
+                        if (captured != null) {
+                            captured.add(inline(sql, parameters));
+                        }
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // Replaces each ? placeholder outside string literals with its bound value
+    private static String inline(String sql, Map<Integer, Object> parameters) {
+        StringBuilder inlined = new StringBuilder(sql.length() + 64);
+        boolean quoted = false;
+        int index = 1;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                inlined.append(literal(parameters.get(index++)));
+            } else {
+                inlined.append(c);
+            }
+        }
+        return inlined.toString();
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString().toUpperCase();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return literal(timestamp.toLocalDateTime());
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return "TIMESTAMP '" + TIMESTAMP_LITERAL.format(dateTime) + "'";
+        }
+        if (value instanceof java.sql.Date || value instanceof LocalDate) {
+            return "DATE '" + value + "'";
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    private void seed() {
+        for (int u = 0; u < USERS; u++) {
+            jdbcTemplate.update(
+                    "INSERT INTO users (username, email, password, email_verified, enabled) VALUES (?, ?, ?, TRUE, TRUE)",
+                    USERNAME_PREFIX + u, USERNAME_PREFIX + u + "@example.com", "not-a-real-hash");
+        }
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE username LIKE '" + USERNAME_PREFIX + "%' ORDER BY id", Long.class);
+
+        LocalDateTime base = LocalDateTime.of(2030, 6, 1, 0, 0);
+        List<Object[]> todos = new ArrayList<>();
+        List<Object[]> tombstones = new ArrayList<>();
+        for (Long id : userIds) {
+            for (int i = 0; i < TODOS_PER_USER; i++) {
+                // Mix of undated, past, upcoming, open and completed todos
+                Timestamp deadline = i % 3 == 0 ? null : Timestamp.valueOf(base.plusHours(i * 7L));
+                Timestamp createdAt = Timestamp.valueOf(base.minusDays(30).plusMinutes(i));
+                todos.add(new Object[]{"Todo " + i, "Seeded todo " + i, i % 4 == 0, deadline, id, createdAt, createdAt});
+            }
+            jdbcTemplate.update("INSERT INTO user_todo_counters (user_id) VALUES (?)", id);
+            for (int i = 0; i < TOMBSTONES_PER_USER; i++) {
+                tombstones.add(new Object[]{TOMBSTONE_ID_BASE + id * TOMBSTONES_PER_USER + i, id, (long) i,
+                        Timestamp.valueOf(base.minusDays(60).plusHours(i))});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO todos (title, description, completed, deadline, user_id, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", todos);
+        // Ids of todos that no longer exist
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO todo_tombstones (todo_id, user_id, change_version, deleted_at) VALUES (?, ?, ?, ?)", tombstones);
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.todoapp.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+
+class H2TodoMutationRepositoryTests extends AbstractTodoMutationRepositoryTests {
+
+    private static EmbeddedDatabase database;
+
+    @BeforeAll
+    static void startDatabase() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("classpath:schema.sql")
+                .build();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        database.shutdown();
+    }
+
+    @Override
+    protected DataSource dataSource() {
+        return database;
+    }
+
+    @Override
+    protected boolean expectPostgres() {
+        return false;
+    }
+}
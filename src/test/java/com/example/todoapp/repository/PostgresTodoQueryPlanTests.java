@@ -0,0 +1,66 @@
+package com.example.todoapp.repository;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("postgres")
+@Import(AbstractTodoQueryPlanTests.SqlCaptureConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresTodoQueryPlanTests extends AbstractTodoQueryPlanTests {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    // The seeded tables are small enough that the planner would prefer sequential scans and sorts on cost
+    // alone; disabling both leaves them in the plan only where no index can serve the query
+    @Override
+    protected String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                statement.execute("SET enable_sort = off");
+                try (ResultSet rows = statement.executeQuery("EXPLAIN " + sql)) {
+                    List<String> lines = new ArrayList<>();
+                    while (rows.next()) {
+                        lines.add(rows.getString(1));
+                    }
+                    return String.join("\n", lines);
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                    statement.execute("RESET enable_sort");
+                }
+            }
+        });
+    }
+
+    @Override
+    protected void assertUsesIndexes(String description, String plan, boolean ordered) {
+        assertThat(plan).as(description).doesNotContain("Seq Scan");
+        if (ordered) {
+            // Covers Sort and Incremental Sort nodes
+            assertThat(plan).as(description).doesNotContainPattern("\\bSort\\b");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.util.DeadlineClassifier;
+import com.example.todoapp.util.DeadlineStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.todoapp.repository.TodoSpecifications.belongsTo;
+import static com.example.todoapp.repository.TodoSpecifications.dueSoon;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Todos on both edges of the due-soon window: the listing, the stats, the /filter specification and the
+// DTO classification must all agree that only the one strictly inside is due soon
+@SpringBootTest
+class TodoDueSoonBoundaryTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 15, 12, 0);
+    private static final LocalDateTime UNTIL = NOW.plus(DeadlineClassifier.DUE_SOON_WINDOW);
+    private static final String USERNAME = "due_soon_boundary";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private long userId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM todos WHERE user_id IN (SELECT id FROM users WHERE username = ?)", USERNAME);
+        jdbcTemplate.update("DELETE FROM users WHERE username = ?", USERNAME);
+        jdbcTemplate.update(
+                "INSERT INTO users (username, email, password, email_verified, enabled) VALUES (?, ?, ?, TRUE, TRUE)",
+                USERNAME, USERNAME + "@example.com", "not-a-real-hash");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, USERNAME);
+        for (LocalDateTime deadline : List.of(NOW, NOW.plusHours(12), UNTIL)) {
+            jdbcTemplate.update("INSERT INTO todos (title, completed, deadline, user_id) VALUES (?, FALSE, ?, ?)",
+                    "Due " + deadline, Timestamp.valueOf(deadline), userId);
+        }
+    }
+
+    @Test
+    void windowEdgesAreExcludedEverywhere() {
+        List<TodoRow> page = todoRepository.findDueSoonPageByUserId(
+                userId, NOW, UNTIL, LocalDateTime.of(1, 1, 1, 0, 0), 0L, PageRequest.of(0, 10));
+        assertThat(page).extracting(TodoRow::getDeadline).containsExactly(NOW.plusHours(12));
+
+        List<TodoRow> filtered = todoRepository.findRows(
+                belongsTo(userId).and(dueSoon(NOW, UNTIL)), Sort.by("deadline"), 10);
+        assertThat(filtered).extracting(TodoRow::getDeadline).containsExactly(NOW.plusHours(12));
+
+        TodoStatsView stats = todoRepository.aggregateDeadlineStatsByUserId(
+                userId, NOW, UNTIL, NOW.minusDays(2), NOW.plusDays(5), NOW.minusDays(14), NOW.plusDays(16));
+        assertThat(stats.getDueSoonTodos()).isEqualTo(1L);
+
+        DeadlineClassifier.Snapshot snapshot = DeadlineClassifier.Snapshot.at(NOW);
+        assertThat(List.of(NOW, NOW.plusHours(12), UNTIL))
+                .extracting(deadline -> snapshot.classify(deadline, false))
+                .containsExactly(DeadlineStatus.ON_TIME, DeadlineStatus.DUE_SOON, DeadlineStatus.ON_TIME);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.todoapp.security;
+
+import com.example.todoapp.entity.Role;
+import com.example.todoapp.entity.User;
+import com.example.todoapp.repository.RoleRepository;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Counts JWT parses per authenticated request: the filter needs subject, user id, roles and security
+// version, and all of them must come out of a single signature check
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthenticationFilterTests {
+
+    private static final String USERNAME = "jwt_filter_user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @MockitoSpyBean
+    private JwtService jwtService;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = userRepository.findByUsername(USERNAME).orElseGet(() -> {
+            User created = new User();
+            created.setUsername(USERNAME);
+            created.setEmail(USERNAME + "@example.com");
+            created.setPassword("not-a-real-hash");
+            created.setEmailVerified(true);
+            created.setEnabled(true);
+            Role role = roleRepository.findByName("ROLE_USER").orElseThrow();
+            created.setRoles(new HashSet<>(Set.of(role)));
+            return userRepository.save(created);
+        });
+    }
+
+    @Test
+    void parsesANewTokenExactlyOnceAndRepeatRequestsNotAtAll() throws Exception {
+        String token = jwtService.generateAccessToken(user);
+        clearInvocations(jwtService);
+
+        mockMvc.perform(get("/api/todos").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        verify(jwtService, times(1)).parseToken(anyString());
+
+        clearInvocations(jwtService);
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/todos").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+        verify(jwtService, never()).parseToken(anyString());
+    }
+
+    @Test
+    void requestsWithoutABearerTokenNeverParse() throws Exception {
+        mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isUnauthorized());
+
+        verify(jwtService, never()).parseToken(anyString());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.auth.AuthResponseDto;
+import com.example.todoapp.dto.auth.RefreshTokenRequestDto;
+import com.example.todoapp.exception.InvalidTokenException;
+import com.example.todoapp.util.TokenHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Rotation through AuthService.refresh, which runs consume inside its own transaction: replaying a rotated
+// token must revoke its whole session, and that revocation must commit although the call fails
+@SpringBootTest
+class RefreshTokenRotationTests {
+
+    private static final String USERNAME = "refresh_user";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void createUser() {
+        jdbcTemplate.update("DELETE FROM users WHERE username = ?", USERNAME);
+        jdbcTemplate.update(
+                "INSERT INTO users (username, email, password, email_verified, enabled) VALUES (?, ?, ?, TRUE, TRUE)",
+                USERNAME, USERNAME + "@example.com", "not-a-real-hash");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, USERNAME);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = 'ROLE_USER'", userId);
+    }
+
+    @Test
+    void rotationHandsOutANewTokenAndRetiresTheOldOne() {
+        String issued = refreshTokenService.issue(userId);
+
+        AuthResponseDto refreshed = refresh(issued);
+
+        assertThat(refreshed.getRefreshToken()).isNotEqualTo(issued);
+        assertThat(refreshed.getAccessToken()).isNotBlank();
+        assertThat(familyOf(refreshed.getRefreshToken())).isEqualTo(familyOf(issued));
+        assertThat(refresh(refreshed.getRefreshToken()).getRefreshToken()).isNotBlank();
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesItsWholeSessionOnly() {
+        String issued = refreshTokenService.issue(userId);
+        String otherSession = refreshTokenService.issue(userId);
+        long family = familyOf(issued);
+        String rotated = refresh(issued).getRefreshToken();
+
+        assertThatThrownBy(() -> refresh(issued))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("already been used");
+
+        // Read on a fresh connection: the delete was committed, not rolled back with the failed call
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE family_id = ?", Long.class, family)).isZero();
+        assertThatThrownBy(() -> refresh(rotated))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Invalid refresh token");
+        assertThat(refresh(otherSession).getRefreshToken()).isNotBlank();
+    }
+
+    private AuthResponseDto refresh(String token) {
+        return authService.refresh(new RefreshTokenRequestDto(token));
+    }
+
+    private long familyOf(String token) {
+        return jdbcTemplate.queryForObject("SELECT family_id FROM refresh_tokens WHERE token_hash = ?",
+                Long.class, TokenHasher.sha256Hex(token));
+    }
+}
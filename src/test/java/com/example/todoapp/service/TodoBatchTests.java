@@ -0,0 +1,137 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoBatchItemResultDto;
+import com.example.todoapp.dto.TodoBatchOperationDto;
+import com.example.todoapp.dto.TodoBatchOperationDto.Op;
+import com.example.todoapp.dto.TodoBatchRequestDto;
+import com.example.todoapp.dto.TodoBatchResultDto;
+import com.example.todoapp.dto.TodoRequestDto;
+import com.example.todoapp.security.ParsedToken;
+import com.example.todoapp.security.TokenPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Operations apply in order to one in-memory snapshot of the touched todos; only the net effect is written,
+// under a single change version, with counters moved by the same net delta
+@SpringBootTest
+class TodoBatchTests {
+
+    private static final String USERNAME = "batch_user";
+    private static final LocalDateTime DEADLINE = LocalDateTime.of(2030, 6, 15, 12, 0);
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void authenticate() {
+        jdbcTemplate.update("DELETE FROM users WHERE username = ?", USERNAME);
+        jdbcTemplate.update(
+                "INSERT INTO users (username, email, password, email_verified, enabled) VALUES (?, ?, ?, TRUE, TRUE)",
+                USERNAME, USERNAME + "@example.com", "not-a-real-hash");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, USERNAME);
+        TokenPrincipal principal = new TokenPrincipal(
+                new ParsedToken(USERNAME, userId, List.of("ROLE_USER"), 0L, Instant.now().plusSeconds(600)));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void appliesOperationsInOrderAndWritesTheNetEffectUnderOneVersion() {
+        Long open = create("Open", null);
+        Long withDeadline = create("With deadline", DEADLINE);
+        Long done = create("Done", null);
+        todoService.toggleCurrentUserTodoCompletion(done);
+        long versionBefore = changeVersion();
+
+        TodoBatchResultDto result = todoService.batchCurrentUserTodos(new TodoBatchRequestDto(List.of(
+                operation(Op.UPDATE, open, "Renamed", null),
+                operation(Op.TOGGLE, open, null, null),
+                operation(Op.DELETE, withDeadline, null, null),
+                // Sees the delete above, although nothing was written yet
+                operation(Op.TOGGLE, withDeadline, null, null),
+                operation(Op.CREATE, null, "Created", DEADLINE),
+                operation(Op.CREATE, null, " ", null),
+                operation(Op.TOGGLE, Long.MAX_VALUE, null, null),
+                operation(Op.SET_DEADLINE, done, null, DEADLINE))));
+
+        assertThat(result.getResults()).extracting(TodoBatchItemResultDto::getStatus)
+                .containsExactly(200, 200, 204, 404, 201, 400, 404, 200);
+        assertThat(result.getSucceeded()).isEqualTo(5);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getResults().get(1).getTodo().getTitle()).isEqualTo("Renamed");
+        assertThat(result.getResults().get(1).getTodo().getCompleted()).isTrue();
+        Long created = result.getResults().get(4).getId();
+        assertThat(created).isNotNull();
+
+        long version = changeVersion();
+        assertThat(version).isEqualTo(versionBefore + 1);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT title, completed, change_version FROM todos WHERE user_id = ? ORDER BY id", userId))
+                .containsExactly(
+                        Map.of("TITLE", "Renamed", "COMPLETED", true, "CHANGE_VERSION", version),
+                        Map.of("TITLE", "Done", "COMPLETED", true, "CHANGE_VERSION", version),
+                        Map.of("TITLE", "Created", "COMPLETED", false, "CHANGE_VERSION", version));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT change_version FROM todo_tombstones WHERE todo_id = ?", Long.class, withDeadline))
+                .isEqualTo(version);
+
+        // Renamed (completed), Done (completed, deadline), Created (deadline)
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT total_todos, completed_todos, todos_with_deadline, completed_with_deadline " +
+                "FROM user_todo_counters WHERE user_id = ?", userId))
+                .containsExactlyInAnyOrderEntriesOf(Map.of(
+                        "TOTAL_TODOS", 3L, "COMPLETED_TODOS", 2L, "TODOS_WITH_DEADLINE", 2L, "COMPLETED_WITH_DEADLINE", 1L));
+    }
+
+    @Test
+    void aBatchOfFailuresWritesNothing() {
+        Long todo = create("Untouched", null);
+        long versionBefore = changeVersion();
+
+        TodoBatchResultDto result = todoService.batchCurrentUserTodos(new TodoBatchRequestDto(List.of(
+                operation(Op.TOGGLE, Long.MAX_VALUE, null, null),
+                operation(Op.UPDATE, null, "No id", null))));
+
+        assertThat(result.getResults()).extracting(TodoBatchItemResultDto::getStatus).containsExactly(404, 400);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT change_version FROM todos WHERE id = ?", Long.class, todo)).isEqualTo(versionBefore);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT total_todos FROM user_todo_counters WHERE user_id = ?", Long.class, userId)).isEqualTo(1L);
+    }
+
+    private Long create(String title, LocalDateTime deadline) {
+        return todoService.createTodoForCurrentUser(new TodoRequestDto(title, null, false, deadline)).getId();
+    }
+
+    private long changeVersion() {
+        return jdbcTemplate.queryForObject(
+                "SELECT change_version FROM user_todo_counters WHERE user_id = ?", Long.class, userId);
+    }
+
+    private static TodoBatchOperationDto operation(Op op, Long id, String title, LocalDateTime deadline) {
+        return new TodoBatchOperationDto(op, id, title, null, null, deadline);
+    }
+}
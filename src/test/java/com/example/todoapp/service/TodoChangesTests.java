@@ -0,0 +1,132 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoChangesDto;
+import com.example.todoapp.dto.TodoRequestDto;
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.security.ParsedToken;
+import com.example.todoapp.security.TokenPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+// Delta sync: written rows and tombstones merged in (change_version, id) order across pages, and a resync
+// whenever tombstones after "since" were compacted, also when that happens while the page is read
+@SpringBootTest
+class TodoChangesTests {
+
+    private static final String USERNAME = "changes_user";
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private TodoCounterService todoCounterService;
+
+    private long userId;
+
+    @BeforeEach
+    void authenticate() {
+        jdbcTemplate.update("DELETE FROM users WHERE username = ?", USERNAME);
+        jdbcTemplate.update(
+                "INSERT INTO users (username, email, password, email_verified, enabled) VALUES (?, ?, ?, TRUE, TRUE)",
+                USERNAME, USERNAME + "@example.com", "not-a-real-hash");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, USERNAME);
+        TokenPrincipal principal = new TokenPrincipal(
+                new ParsedToken(USERNAME, userId, List.of("ROLE_USER"), 0L, Instant.now().plusSeconds(600)));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void mergesWritesAndDeletesInVersionOrderAcrossPages() {
+        Long first = create("First");
+        long since = changeVersion();
+        Long second = create("Second");
+        Long third = create("Third");
+        todoService.deleteCurrentUserTodo(second);
+        todoService.toggleCurrentUserTodoCompletion(first);
+        long version = changeVersion();
+
+        TodoChangesDto page = todoService.getCurrentUserTodoChanges(since, null, 2);
+        assertThat(page.isResyncRequired()).isFalse();
+        assertThat(page.getChanged()).extracting(TodoResponseDto::getId).containsExactly(third);
+        assertThat(page.getDeleted()).containsExactly(second);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getVersion()).isEqualTo(version);
+
+        TodoChangesDto last = todoService.getCurrentUserTodoChanges(since, page.getNextCursor(), 2);
+        assertThat(last.getChanged()).extracting(TodoResponseDto::getId).containsExactly(first);
+        assertThat(last.getChanged().get(0).getCompleted()).isTrue();
+        assertThat(last.getDeleted()).isEmpty();
+        assertThat(last.isHasMore()).isFalse();
+
+        TodoChangesDto upToDate = todoService.getCurrentUserTodoChanges(version, null, 2);
+        assertThat(upToDate.getChanged()).isEmpty();
+        assertThat(upToDate.getDeleted()).isEmpty();
+    }
+
+    @Test
+    void syncingFromBeforeAPurgeRequiresAResync() {
+        Long todo = create("Deleted");
+        long since = changeVersion();
+        todoService.deleteCurrentUserTodo(todo);
+        jdbcTemplate.update("UPDATE user_todo_counters SET tombstones_purged_version = ? WHERE user_id = ?",
+                changeVersion(), userId);
+
+        TodoChangesDto changes = todoService.getCurrentUserTodoChanges(since, null, 10);
+
+        assertThat(changes.isResyncRequired()).isTrue();
+        assertThat(changes.getDeleted()).isEmpty();
+        assertThat(changes.getVersion()).isEqualTo(changeVersion());
+    }
+
+    @Test
+    void aPurgeCommittingDuringTheReadRequiresAResync() {
+        Long todo = create("Deleted");
+        long since = changeVersion();
+        todoService.deleteCurrentUserTodo(todo);
+        // The counters read up front still show no purge; the re-check after the tombstones sees one
+        doReturn(since + 1).when(todoCounterService).getTombstonesPurgedVersion(userId);
+
+        TodoChangesDto changes = todoService.getCurrentUserTodoChanges(since, null, 10);
+
+        assertThat(changes.isResyncRequired()).isTrue();
+        assertThat(changes.getDeleted()).isEmpty();
+    }
+
+    @Test
+    void versionsAheadOfTheServerRequireAResync() {
+        create("Only");
+
+        assertThat(todoService.getCurrentUserTodoChanges(changeVersion() + 1, null, 10).isResyncRequired()).isTrue();
+    }
+
+    private Long create(String title) {
+        return todoService.createTodoForCurrentUser(new TodoRequestDto(title, null, false, null)).getId();
+    }
+
+    private long changeVersion() {
+        return jdbcTemplate.queryForObject(
+                "SELECT change_version FROM user_todo_counters WHERE user_id = ?", Long.class, userId);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoPageDto;
+import com.example.todoapp.dto.TodoRequestDto;
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.security.ParsedToken;
+import com.example.todoapp.security.TokenPrincipal;
+import com.example.todoapp.util.TodoCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Deadline ordering with nulls last: keyset pages over (deadline, id) continue into the no-deadline tail,
+// which is paged by id alone behind a null-key cursor
+@SpringBootTest
+class TodoDeadlinePagingTests {
+
+    private static final String USERNAME = "deadline_paging_user";
+    private static final LocalDateTime DEADLINE = LocalDateTime.of(2030, 6, 15, 12, 0);
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void authenticate() {
+        jdbcTemplate.update("DELETE FROM users WHERE username = ?", USERNAME);
+        jdbcTemplate.update(
+                "INSERT INTO users (username, email, password, email_verified, enabled) VALUES (?, ?, ?, TRUE, TRUE)",
+                USERNAME, USERNAME + "@example.com", "not-a-real-hash");
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, USERNAME);
+        TokenPrincipal principal = new TokenPrincipal(
+                new ParsedToken(USERNAME, userId, List.of("ROLE_USER"), 0L, Instant.now().plusSeconds(600)));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void pagesThroughDeadlinesThenTheNoDeadlineTailById() {
+        Long noDeadline1 = create(null);
+        Long later = create(DEADLINE.plusDays(1));
+        Long noDeadline2 = create(null);
+        Long sooner = create(DEADLINE);
+        Long noDeadline3 = create(null);
+
+        TodoPageDto first = todoService.getCurrentUserTodosSortedByDeadline(null, 3);
+        assertThat(first.getItems()).extracting(TodoResponseDto::getId).containsExactly(sooner, later, noDeadline1);
+        assertThat(first.isHasMore()).isTrue();
+        TodoCursor cursor = TodoCursor.decode(first.getNextCursor());
+        assertThat(cursor.isNullKey()).isTrue();
+        assertThat(cursor.getId()).isEqualTo(noDeadline1);
+
+        TodoPageDto second = todoService.getCurrentUserTodosSortedByDeadline(first.getNextCursor(), 3);
+        assertThat(second.getItems()).extracting(TodoResponseDto::getId).containsExactly(noDeadline2, noDeadline3);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void aPageEndingOnTheLastDeadlineContinuesIntoTheTail() {
+        Long withDeadline = create(DEADLINE);
+        Long noDeadline = create(null);
+
+        TodoPageDto first = todoService.getCurrentUserTodosSortedByDeadline(null, 1);
+        assertThat(first.getItems()).extracting(TodoResponseDto::getId).containsExactly(withDeadline);
+        assertThat(first.isHasMore()).isTrue();
+
+        TodoPageDto second = todoService.getCurrentUserTodosSortedByDeadline(first.getNextCursor(), 1);
+        assertThat(second.getItems()).extracting(TodoResponseDto::getId).containsExactly(noDeadline);
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    private Long create(LocalDateTime deadline) {
+        return todoService.createTodoForCurrentUser(new TodoRequestDto("Todo", null, false, deadline)).getId();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.todoapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineClassifierTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 15, 12, 0);
+
+    private final DeadlineClassifier.Snapshot snapshot = DeadlineClassifier.Snapshot.at(NOW);
+
+    @Test
+    void dueSoonWindowIsOpenAtBothEnds() {
+        assertThat(snapshot.classify(NOW, false)).isEqualTo(DeadlineStatus.ON_TIME);
+        assertThat(snapshot.classify(NOW.plusNanos(1_000), false)).isEqualTo(DeadlineStatus.DUE_SOON);
+        assertThat(snapshot.classify(NOW.plusDays(1).minusNanos(1_000), false)).isEqualTo(DeadlineStatus.DUE_SOON);
+        assertThat(snapshot.classify(NOW.plusDays(1), false)).isEqualTo(DeadlineStatus.ON_TIME);
+    }
+
+    @Test
+    void overdueOnlyOnceTheDeadlineHasPassed() {
+        assertThat(snapshot.classify(NOW.minusNanos(1_000), false)).isEqualTo(DeadlineStatus.OVERDUE);
+        assertThat(snapshot.classify(NOW.minusDays(3), true)).isEqualTo(DeadlineStatus.ON_TIME);
+        assertThat(snapshot.classify(null, false)).isEqualTo(DeadlineStatus.NO_DEADLINE);
+    }
+}
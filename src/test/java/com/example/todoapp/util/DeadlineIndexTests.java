@@ -0,0 +1,185 @@
+package com.example.todoapp.util;
+
+import com.example.todoapp.dto.TodoResponseDto;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineIndexTests {
+
+    private static final LocalDateTime T = LocalDateTime.of(2030, 6, 15, 10, 0);
+
+    @Test
+    void sameSecondDeadlinesShareOneKeyAndComeBackAsAWholeGroup() {
+        DeadlineIndex index = DeadlineIndex.empty()
+                .with(1, T.plusNanos(100_000_000), false)
+                .with(2, T.plusNanos(900_000_000), false)
+                .with(3, T.plusSeconds(1), false);
+
+        // Only 2's exact deadline lies in the range; the caller filters 1 out after loading the rows
+        assertThat(index.findIds(T.plusNanos(500_000_000), T.plusNanos(950_000_000), 1)).containsExactly(1, 2);
+    }
+
+    @Test
+    void tiesKeepInsertionOrder() {
+        DeadlineIndex index = DeadlineIndex.empty()
+                .with(5, T, false)
+                .with(3, T, false)
+                .with(4, T, false);
+
+        assertThat(index.findIds(T, T, 10)).containsExactly(5, 3, 4);
+    }
+
+    @Test
+    void limitCuttingIntoATieGroupReturnsTheRestOfTheGroup() {
+        DeadlineIndex index = sorted(
+                new long[]{0, 1, 1, 1, 2},
+                new long[]{10, 11, 12, 13, 14},
+                new boolean[]{false, false, false, false, false});
+
+        assertThat(index.findIds(T, T.plusSeconds(2), 1)).containsExactly(10, 11, 12, 13);
+    }
+
+    @Test
+    void limitCountsAfterTheFirstGroup() {
+        DeadlineIndex index = sorted(
+                new long[]{0, 0, 1, 2},
+                new long[]{10, 11, 12, 13},
+                new boolean[]{false, false, false, false});
+
+        assertThat(index.findIds(T, T.plusSeconds(2), 0)).containsExactly(10, 11);
+        assertThat(index.findIds(T, T.plusSeconds(2), 1)).containsExactly(10, 11, 12);
+        assertThat(index.findIds(T, T.plusSeconds(2), 2)).containsExactly(10, 11, 12, 13);
+        assertThat(index.findIds(T, T.plusSeconds(2), Integer.MAX_VALUE)).containsExactly(10, 11, 12, 13);
+    }
+
+    @Test
+    void rangeBoundsAreInclusiveAndNeverReachPastTo() {
+        DeadlineIndex index = sorted(
+                new long[]{0, 2, 4},
+                new long[]{10, 11, 12},
+                new boolean[]{false, false, false});
+
+        assertThat(index.findIds(T.plusSeconds(2), T.plusSeconds(2), 10)).containsExactly(11);
+        assertThat(index.findIds(T.plusSeconds(1), T.plusSeconds(3), 10)).containsExactly(11);
+        assertThat(index.findIds(T.plusSeconds(1), T.plusSeconds(3), 0)).isEmpty();
+        assertThat(index.findIds(T.plusSeconds(5), T.plusSeconds(9), 10)).isEmpty();
+        assertThat(index.findIds(T.plusSeconds(3), T.plusSeconds(1), 10)).isEmpty();
+    }
+
+    @Test
+    void completingMovesATodoOutOfTheOpenLookupOnly() {
+        DeadlineIndex open = DeadlineIndex.empty().with(1, T, false).with(2, T.plusSeconds(1), false);
+        DeadlineIndex completed = open.with(1, T, true);
+
+        assertThat(completed.size()).isEqualTo(2);
+        assertThat(completed.findIds(T, T.plusSeconds(1), 10)).containsExactly(1, 2);
+        assertThat(completed.findOpenIds(T, T.plusSeconds(1), 10)).containsExactly(2);
+        // Instances are immutable
+        assertThat(open.findOpenIds(T, T.plusSeconds(1), 10)).containsExactly(1, 2);
+    }
+
+    @Test
+    void reopeningPutsATodoBackInKeyOrder() {
+        DeadlineIndex index = DeadlineIndex.empty()
+                .with(1, T.plusSeconds(1), true)
+                .with(2, T, false)
+                .with(3, T.plusSeconds(2), false);
+
+        assertThat(index.findOpenIds(T, T.plusSeconds(2), 10)).containsExactly(2, 3);
+        assertThat(index.with(1, T.plusSeconds(1), false).findOpenIds(T, T.plusSeconds(2), 10)).containsExactly(2, 1, 3);
+    }
+
+    @Test
+    void movingADeadlineReplacesTheOldEntry() {
+        DeadlineIndex index = DeadlineIndex.empty()
+                .with(1, T, false)
+                .with(2, T.plusSeconds(1), false)
+                .with(1, T.plusSeconds(2), false);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findIds(T, T.plusSeconds(2), 10)).containsExactly(2, 1);
+        assertThat(index.findOpenIds(T, T.plusSeconds(2), 10)).containsExactly(2, 1);
+    }
+
+    @Test
+    void clearingTheDeadlineOrDeletingRemovesTheTodoFromBothLookups() {
+        DeadlineIndex index = DeadlineIndex.empty()
+                .with(1, T, false)
+                .with(2, T, true)
+                .with(3, T, false);
+
+        DeadlineIndex cleared = index.with(1, null, false);
+        assertThat(cleared.findIds(T, T, 10)).containsExactly(2, 3);
+        assertThat(cleared.findOpenIds(T, T, 10)).containsExactly(3);
+
+        DeadlineIndex deleted = cleared.without(2).without(3);
+        assertThat(deleted.size()).isZero();
+        assertThat(deleted.findIds(T, T, 10)).isEmpty();
+        assertThat(deleted.findOpenIds(T, T, 10)).isEmpty();
+    }
+
+    @Test
+    void removingAnUnknownTodoReturnsTheSameIndex() {
+        DeadlineIndex index = DeadlineIndex.empty().with(1, T, false);
+
+        assertThat(index.without(99)).isSameAs(index);
+    }
+
+    @Test
+    void ofSortedSplitsOpenTodosAndRejectsUnsortedKeys() {
+        DeadlineIndex index = sorted(
+                new long[]{0, 1, 2},
+                new long[]{10, 11, 12},
+                new boolean[]{false, true, false});
+
+        assertThat(index.findOpenIds(T, T.plusSeconds(2), 10)).containsExactly(10, 12);
+        assertThat(index.estimatedBytes()).isEqualTo(4 * 16 + 8 * (3 + 3 + 2 + 2));
+
+        assertThatThrownBy(() -> sorted(new long[]{1, 0}, new long[]{10, 11}, new boolean[]{false, false}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Retained sizes measured with JOL: the index against the estimate it reports, and against the same todos
+    // held as response rows, which is what caching the endpoints' results would keep
+    @Test
+    void retainedSizeMatchesTheEstimateAndStaysFarBelowCachedRows() {
+        int count = 10_000;
+        long[] keys = new long[count];
+        long[] ids = new long[count];
+        boolean[] completed = new boolean[count];
+        List<TodoResponseDto> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime deadline = T.plusSeconds(i);
+            keys[i] = DeadlineIndex.keyOf(deadline);
+            ids[i] = i + 1;
+            completed[i] = i % 2 == 0;
+            rows.add(new TodoResponseDto(ids[i], "Todo " + i, null, completed[i], deadline,
+                    true, false, false, "ON_TIME", T, T));
+        }
+        DeadlineIndex index = DeadlineIndex.ofSorted(keys, ids, completed);
+
+        long indexBytes = GraphLayout.parseInstance(index).totalSize();
+        long rowBytes = GraphLayout.parseInstance(rows).totalSize();
+
+        // 16 bytes per todo, 16 more per open one; only the index object itself is left out of the estimate
+        assertThat(index.estimatedBytes()).isEqualTo(4 * 16 + 8L * (count + count + count / 2 + count / 2));
+        assertThat(indexBytes).isBetween(index.estimatedBytes(), index.estimatedBytes() + 128);
+        assertThat(indexBytes * 5).isLessThan(rowBytes);
+    }
+
+    // Keys given as seconds after T
+    private static DeadlineIndex sorted(long[] offsets, long[] ids, boolean[] completed) {
+        long[] keys = new long[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            keys[i] = DeadlineIndex.keyOf(T.plusSeconds(offsets[i]));
+        }
+        return DeadlineIndex.ofSorted(keys, ids, completed);
+    }
+}
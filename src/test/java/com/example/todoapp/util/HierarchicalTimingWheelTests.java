@@ -0,0 +1,145 @@
+package com.example.todoapp.util;
+
+import com.example.todoapp.util.HierarchicalTimingWheel.Timeout;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTests {
+
+    private static final long TICK = 10;
+
+    @Test
+    void firesOnTheFirstTickAfterTheExpirationAndNeverBefore() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 8, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(25, "a");
+
+        wheel.advanceTo(25, fired::add);
+        wheel.advanceTo(29, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advanceTo(30, fired::add);
+        assertThat(fired).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void expirationsInTheCurrentTickAreReturnedForTheCallerToFire() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 8, 100);
+        wheel.advanceTo(200, value -> { });
+
+        // Everything before 200 is due by now
+        assertThat(wheel.schedule(150, "past")).isNull();
+        assertThat(wheel.schedule(199, "current tick")).isNull();
+        assertThat(wheel.schedule(200, "next tick")).isNotNull();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void timeoutsBeyondTheFirstLevelCascadeDownAndFireOnTime() {
+        // Levels of 4 buckets: 10 ms, 40 ms and 160 ms ticks, so 500 ms sits two overflow levels up
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(500, "far");
+        wheel.schedule(45, "near");
+
+        for (long now = 0; now <= 500; now += TICK) {
+            wheel.advanceTo(now, fired::add);
+            if (now < 50) {
+                assertThat(fired).isEmpty();
+            }
+        }
+        assertThat(fired).containsExactly("near");
+
+        wheel.advanceTo(509, fired::add);
+        assertThat(fired).containsExactly("near");
+        wheel.advanceTo(510, fired::add);
+        assertThat(fired).containsExactly("near", "far");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void everyTimeoutFiresOnItsFirstTickAfterExpiration() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+        Random random = new Random(42);
+        Map<Long, Long> firedAt = new HashMap<>();
+        List<Long> expirations = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long expiration = random.nextInt(20_000);
+            if (wheel.schedule(expiration, (long) i) != null) {
+                expirations.add(expiration);
+            } else {
+                expirations.add(null);
+            }
+        }
+
+        // Uneven steps, some spanning several ticks and several second-level buckets
+        List<Long> steps = new ArrayList<>();
+        long now = 0;
+        while (now <= 20_100) {
+            now += 1 + random.nextInt(70);
+            long at = now;
+            steps.add(at);
+            wheel.advanceTo(at, id -> firedAt.put(id, at));
+        }
+
+        assertThat(wheel.size()).isZero();
+        for (int i = 0; i < expirations.size(); i++) {
+            Long expiration = expirations.get(i);
+            if (expiration == null) {
+                continue;
+            }
+            // Due once its whole tick has passed: fired by the first advance reaching that point, not before
+            long due = Math.floorDiv(expiration, TICK) * TICK + TICK;
+            long firstStepAtOrAfterDue = steps.stream().filter(step -> step >= due).findFirst().orElseThrow();
+            assertThat(firedAt.get((long) i))
+                    .as("timeout %d expiring at %d", i, expiration)
+                    .isEqualTo(firstStepAtOrAfterDue)
+                    .isGreaterThan(expiration);
+        }
+        assertThat(firedAt).hasSize((int) expirations.stream().filter(e -> e != null).count());
+    }
+
+    @Test
+    void cancelledTimeoutsStayCountedUntilTheirBucketIsFlushed() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+        List<String> fired = new ArrayList<>();
+        Timeout<String> near = wheel.schedule(15, "near");
+        Timeout<String> far = wheel.schedule(300, "far");
+        wheel.schedule(20, "kept");
+
+        near.cancel();
+        far.cancel();
+        assertThat(near.isCancelled()).isTrue();
+        assertThat(wheel.size()).isEqualTo(3);
+
+        wheel.advanceTo(20, fired::add);
+        assertThat(fired).isEmpty();
+        assertThat(wheel.size()).isEqualTo(2);
+
+        wheel.advanceTo(30, fired::add);
+        assertThat(fired).containsExactly("kept");
+        assertThat(wheel.size()).isEqualTo(1);
+
+        // The far one is dropped when its overflow bucket cascades, without ever firing
+        wheel.advanceTo(400, fired::add);
+        assertThat(fired).containsExactly("kept");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rejectsDegenerateWheels() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(0, 8, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(TICK, 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
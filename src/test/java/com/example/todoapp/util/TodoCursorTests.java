@@ -0,0 +1,60 @@
+package com.example.todoapp.util;
+
+import com.example.todoapp.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TodoCursorTests {
+
+    private static final LocalDateTime KEY = LocalDateTime.of(2030, 6, 15, 12, 30, 45, 123_000_000);
+
+    @Test
+    void dateKeysSurviveARoundTrip() {
+        TodoCursor cursor = TodoCursor.decode(TodoCursor.of(KEY, 42L).encode());
+
+        assertThat(cursor.isNullKey()).isFalse();
+        assertThat(cursor.getDateKey()).isEqualTo(KEY);
+        assertThat(cursor.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void nullKeysMarkTheNoDeadlineTail() {
+        TodoCursor cursor = TodoCursor.decode(TodoCursor.of((LocalDateTime) null, 7L).encode());
+
+        assertThat(cursor.isNullKey()).isTrue();
+        assertThat(cursor.getDateKey()).isNull();
+        assertThat(cursor.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void keysMayContainTheSeparator() {
+        TodoCursor cursor = TodoCursor.decode(TodoCursor.of("a|b", 5L).encode());
+
+        assertThat(cursor.getKey()).isEqualTo("a|b");
+        assertThat(cursor.getId()).isEqualTo(5L);
+    }
+
+    @Test
+    void encodedCursorsAreUrlSafe() {
+        assertThat(TodoCursor.of(KEY, Long.MAX_VALUE).encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void malformedCursorsAreBadRequests() {
+        assertThatThrownBy(() -> TodoCursor.decode("not base64!")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> TodoCursor.decode(encode("no separator"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> TodoCursor.decode(encode(KEY + "|not-an-id"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> TodoCursor.decode(encode("not-a-date|1")).getDateKey())
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}